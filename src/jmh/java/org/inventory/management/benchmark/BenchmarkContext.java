@@ -0,0 +1,147 @@
+package org.inventory.management.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.inventory.management.InventoryManagementApplication;
+import org.inventory.management.entity.Order;
+import org.inventory.management.entity.OrderItem;
+import org.inventory.management.entity.Product;
+import org.inventory.management.entity.enums.OrderStatus;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Boots the application without a web server against a private in-memory database and writes
+ * fixture data in chunked transactions. Every optional feature on the order and stock paths is
+ * pinned off (ledger allocation, hot-product combining, asynchronous intake, reservation expiry, the
+ * stock journal, the low-stock watch and sales velocity tracking), so a change of application
+ * defaults does not silently change what a benchmark measures. Benchmarks turn one on through
+ * {@code properties}, which replace these settings and override application.properties.
+ */
+final class BenchmarkContext implements AutoCloseable {
+
+    private static final int CHUNK_SIZE = 1_000;
+
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.entityManager = context.getBean(EntityManager.class);
+    }
+
+    static BenchmarkContext start(String... properties) {
+        Map<String, String> settings = new LinkedHashMap<>();
+        put(settings, "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        put(settings, "spring.jpa.show-sql=false");
+        put(settings, "spring.jpa.properties.hibernate.format_sql=false");
+        put(settings, "logging.level.root=WARN");
+        put(settings, "inventory.stock.ledger.enabled=false");
+        put(settings, "inventory.stock.combining.enabled=false");
+        put(settings, "inventory.orders.async.enabled=false");
+        put(settings, "inventory.orders.reservation.enabled=false");
+        put(settings, "inventory.stock.journal.enabled=false");
+        put(settings, "inventory.low-stock.watch.enabled=false");
+        put(settings, "inventory.velocity.enabled=false");
+        for (String property : properties) {
+            put(settings, property);
+        }
+
+        // Passed as command-line arguments: builder properties are only defaults, which
+        // application.properties would override. Each key is passed once, since repeated
+        // options are joined into a comma-separated value.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(settings.entrySet().stream()
+                        .map(setting -> "--" + setting.getKey() + "=" + setting.getValue())
+                        .toArray(String[]::new));
+        return new BenchmarkContext(context);
+    }
+
+    private static void put(Map<String, String> settings, String property) {
+        int separator = property.indexOf('=');
+        settings.put(property.substring(0, separator), property.substring(separator + 1));
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    TransactionTemplate transactions() {
+        return transactionTemplate;
+    }
+
+    List<Long> createProducts(int count, int stock) {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + CHUNK_SIZE, count);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Product> chunk = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    Product product = Product.builder()
+                            .name("Product " + i)
+                            .sku(prefix + "-" + i)
+                            .price(BigDecimal.valueOf(10 + i % 990))
+                            .stock(stock)
+                            .build();
+                    entityManager.persist(product);
+                    chunk.add(product);
+                }
+                entityManager.flush();
+                chunk.forEach(product -> ids.add(product.getId()));
+                entityManager.clear();
+            });
+        }
+        return ids;
+    }
+
+    /**
+     * Writes historical orders directly, bypassing stock reservation and the order value summary.
+     */
+    void createOrders(int count, List<Long> productIds, int itemsPerOrder, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int from = 0; from < count; from += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, count - from);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < size; i++) {
+                    Order order = Order.builder()
+                            .orderDate(LocalDateTime.now())
+                            .status(OrderStatus.COMPLETED)
+                            .items(new ArrayList<>(itemsPerOrder))
+                            .build();
+                    for (int line = 0; line < itemsPerOrder; line++) {
+                        Long productId = productIds.get(random.nextInt(productIds.size()));
+                        order.getItems().add(OrderItem.builder()
+                                .order(order)
+                                .product(entityManager.getReference(Product.class, productId))
+                                .quantity(1 + random.nextInt(3))
+                                .build());
+                    }
+                    entityManager.persist(order);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
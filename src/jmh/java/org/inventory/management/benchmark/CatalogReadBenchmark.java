@@ -0,0 +1,81 @@
+package org.inventory.management.benchmark;
+
+import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.mapper.ProductMapper;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full catalog reads three ways: managed entities in a read-write transaction (the old path),
+ * entities in a read-only transaction, and the DTO projection used by {@link ProductService}.
+ * Run with {@code -PjmhProfilers=gc} to compare {@code gc.alloc.rate.norm} per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class CatalogReadBenchmark {
+
+    @Param({"1000", "10000"})
+    public int catalogSize;
+
+    private BenchmarkContext context;
+    private ProductRepository productRepository;
+    private ProductService productService;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        productRepository = context.bean(ProductRepository.class);
+        productService = context.bean(ProductService.class);
+        readWrite = context.transactions();
+        readOnly = new TransactionTemplate(readWrite.getTransactionManager());
+        readOnly.setReadOnly(true);
+        context.createProducts(catalogSize, 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> managedEntities() {
+        return readWrite.execute(status -> productRepository.findAll().stream()
+                .map(ProductMapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> readOnlyEntities() {
+        return readOnly.execute(status -> productRepository.findAll().stream()
+                .map(ProductMapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> projection() {
+        return productService.getAllProducts();
+    }
+}
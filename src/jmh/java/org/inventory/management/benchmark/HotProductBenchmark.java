@@ -0,0 +1,71 @@
+package org.inventory.management.benchmark;
+
+import org.inventory.management.dto.OrderRequestDTO;
+import org.inventory.management.dto.OrderResponseDTO;
+import org.inventory.management.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-item orders that all target one product, with and without hot-product combining. With
+ * combining on, throughput should follow the batch size rather than one row lock per order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(16)
+public class HotProductBenchmark {
+
+    // Large enough that no run drains the product, so every measured order succeeds.
+    private static final int STOCK = 1_000_000_000;
+
+    @Param({"false", "true"})
+    public boolean combining;
+
+    @Param({"100", "500"})
+    public int windowMicros;
+
+    private BenchmarkContext context;
+    private OrderService orderService;
+    private OrderRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start(
+                "inventory.stock.combining.enabled=" + combining,
+                "inventory.stock.combining.window-us=" + windowMicros,
+                "spring.datasource.hikari.maximum-pool-size=20",
+                "inventory.datasource.max-concurrent-connections=20");
+        orderService = context.bean(OrderService.class);
+        Long productId = context.createProducts(1, STOCK).get(0);
+        request = new OrderRequestDTO(List.of(new OrderRequestDTO.Item(productId, 1)));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDTO createOrder() {
+        return orderService.createOrder(request);
+    }
+}
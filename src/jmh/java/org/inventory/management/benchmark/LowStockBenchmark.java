@@ -0,0 +1,67 @@
+package org.inventory.management.benchmark;
+
+import org.inventory.management.entity.Product;
+import org.inventory.management.service.ProductService;
+import org.inventory.management.service.impl.LowStockWatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService#getLowStockProducts} through the indexed query and through watch mode.
+ * Stock is spread over 0..99, so a threshold of 5 matches about 5% of the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class LowStockBenchmark {
+
+    private static final int THRESHOLD = 5;
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    @Param({"false", "true"})
+    public boolean watch;
+
+    private BenchmarkContext context;
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("inventory.low-stock.watch.enabled=" + watch);
+        productService = context.bean(ProductService.class);
+        List<Long> productIds = context.createProducts(catalogSize, 0);
+        context.bean(JdbcTemplate.class).update("update product set stock = mod(id * 7919, 100)");
+        if (watch) {
+            context.bean(LowStockWatcher.class).refresh(productIds);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> getLowStockProducts() {
+        return productService.getLowStockProducts(THRESHOLD);
+    }
+}
@@ -0,0 +1,75 @@
+package org.inventory.management.benchmark;
+
+import org.inventory.management.dto.OrderResponseDTO;
+import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.entity.Order;
+import org.inventory.management.entity.OrderItem;
+import org.inventory.management.entity.Product;
+import org.inventory.management.entity.enums.OrderStatus;
+import org.inventory.management.mapper.OrderMapper;
+import org.inventory.management.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int itemsPerOrder;
+
+    private Order order;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            Product lineProduct = Product.builder()
+                    .id((long) i)
+                    .name("Product " + i)
+                    .sku("SKU-" + i)
+                    .price(BigDecimal.valueOf(10 + i))
+                    .stock(100)
+                    .build();
+            items.add(OrderItem.builder().id((long) i).product(lineProduct).quantity(1 + i % 3).build());
+        }
+        order = Order.builder()
+                .id(1L)
+                .orderDate(LocalDateTime.now())
+                .status(OrderStatus.PENDING)
+                .items(items)
+                .build();
+        items.forEach(item -> item.setOrder(order));
+        product = items.get(0).getProduct();
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderToDTO() {
+        return OrderMapper.toDTO(order);
+    }
+
+    @Benchmark
+    public ProductResponseDTO productToDTO() {
+        return ProductMapper.toDTO(product);
+    }
+}
@@ -0,0 +1,90 @@
+package org.inventory.management.benchmark;
+
+import org.inventory.management.dto.OrderRequestDTO;
+import org.inventory.management.dto.OrderResponseDTO;
+import org.inventory.management.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order placement through {@link OrderService#createOrder}. In the contended case every thread
+ * orders the same products; in the uncontended case each thread owns a disjoint slice of the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class OrderPlacementBenchmark {
+
+    private static final int CATALOG_SIZE = 2_000;
+    // Large enough that no run drains a product, so every measured order succeeds.
+    private static final int STOCK = 1_000_000_000;
+
+    @Param({"1", "10", "50"})
+    public int itemsPerOrder;
+
+    @Param({"uncontended", "contended"})
+    public String contention;
+
+    @Param({"false", "true"})
+    public boolean ledger;
+
+    private BenchmarkContext context;
+    private OrderService orderService;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("inventory.stock.ledger.enabled=" + ledger);
+        orderService = context.bean(OrderService.class);
+        productIds = context.createProducts(CATALOG_SIZE, STOCK);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Basket {
+
+        OrderRequestDTO request;
+
+        @Setup(Level.Trial)
+        public void build(OrderPlacementBenchmark benchmark, ThreadParams threadParams) {
+            boolean contended = "contended".equals(benchmark.contention);
+            int offset = contended ? 0 : threadParams.getThreadIndex() * benchmark.itemsPerOrder;
+            List<OrderRequestDTO.Item> items = new ArrayList<>(benchmark.itemsPerOrder);
+            for (int i = 0; i < benchmark.itemsPerOrder; i++) {
+                Long productId = benchmark.productIds.get((offset + i) % benchmark.productIds.size());
+                items.add(new OrderRequestDTO.Item(productId, 1));
+            }
+            request = new OrderRequestDTO(items);
+        }
+    }
+
+    @Benchmark
+    public OrderResponseDTO createOrder(Basket basket) {
+        return orderService.createOrder(basket.request);
+    }
+}
@@ -0,0 +1,62 @@
+package org.inventory.management.benchmark;
+
+import org.inventory.management.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderService#summarizeOrderValuePerProduct} over growing order histories; the catalog size
+ * stays fixed so a flat result shows the summary no longer scales with order lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class OrderSummaryBenchmark {
+
+    private static final int CATALOG_SIZE = 1_000;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Param({"1000", "10000", "100000"})
+    public int historySize;
+
+    private BenchmarkContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        orderService = context.bean(OrderService.class);
+        List<Long> productIds = context.createProducts(CATALOG_SIZE, 100);
+        context.createOrders(historySize, productIds, ITEMS_PER_ORDER, 42L);
+        orderService.rebuildOrderValueSummary();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> summarizeOrderValuePerProduct() {
+        return orderService.summarizeOrderValuePerProduct();
+    }
+}
@@ -0,0 +1,109 @@
+package org.inventory.management.benchmark;
+
+import org.inventory.management.dto.OrderRequestDTO;
+import org.inventory.management.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code inFlight} concurrent order requests, each spending {@code ioMillis} blocked
+ * outside the database (standing in for client and network I/O) before placing an order through
+ * {@link OrderService#createOrder}. Platform mode mirrors Tomcat's default pool of 200 threads;
+ * virtual mode runs one virtual thread per request with the datasource behind the connection
+ * limiter. Virtual mode needs a Java 21+ runtime ({@code ./gradlew jmh -PjavaVersion=21}).
+ * Run with {@code -prof gc} to compare allocation and heap per burst.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final int CATALOG_SIZE = 2_000;
+    private static final int STOCK = 1_000_000_000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000", "10000"})
+    public int inFlight;
+
+    @Param({"0", "20"})
+    public int ioMillis;
+
+    private BenchmarkContext context;
+    private OrderService orderService;
+    private ExecutorService executor;
+    private List<OrderRequestDTO> requests;
+
+    @Setup(Level.Trial)
+    public void start() {
+        boolean virtual = "virtual".equals(threads);
+        context = BenchmarkContext.start("spring.threads.virtual.enabled=" + virtual);
+        orderService = context.bean(OrderService.class);
+        executor = virtual ? newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+
+        List<Long> productIds = context.createProducts(CATALOG_SIZE, STOCK);
+        requests = new ArrayList<>(inFlight);
+        for (int i = 0; i < inFlight; i++) {
+            Long productId = productIds.get(i % productIds.size());
+            requests.add(new OrderRequestDTO(List.of(new OrderRequestDTO.Item(productId, 1))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void burst() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[inFlight];
+        for (int i = 0; i < inFlight; i++) {
+            OrderRequestDTO request = requests.get(i);
+            futures[i] = CompletableFuture.runAsync(() -> {
+                if (ioMillis > 0) {
+                    try {
+                        Thread.sleep(ioMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                orderService.createOrder(request);
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    // Looked up reflectively so the benchmark source still compiles on the Java 17 toolchain.
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need a Java 21+ runtime (-PjavaVersion=21)", e);
+        }
+    }
+}
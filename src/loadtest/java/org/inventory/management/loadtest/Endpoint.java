@@ -0,0 +1,33 @@
+package org.inventory.management.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The requests the load test can send, named as they are in {@code --mix}.
+ */
+enum Endpoint {
+    ORDERS("orders", "POST /orders"),
+    PRODUCTS("products", "GET /products (page)"),
+    CATALOG("catalog", "GET /products (catalog)"),
+    LOW_STOCK("low-stock", "GET /products/low-stock"),
+    SUMMARY("summary", "GET /orders/orders/summary");
+
+    private final String key;
+    private final String label;
+
+    Endpoint(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Endpoint of(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint in mix: " + key));
+    }
+}
@@ -0,0 +1,85 @@
+package org.inventory.management.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes for one endpoint. Response time runs from when a request was due to be sent
+ * (so time spent waiting for a free connection while the server lags is counted, which is the
+ * coordinated-omission correction); service time runs from when it was actually sent. Both are kept
+ * in microseconds in HdrHistogram recorders, which are swapped out for each report interval and
+ * folded into run totals.
+ */
+class EndpointStats {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Recorder responseRecorder = new Recorder(MAX_MICROS, 3);
+    private final Recorder serviceRecorder = new Recorder(MAX_MICROS, 3);
+    private final Histogram responseTotal = new Histogram(MAX_MICROS, 3);
+    private final Histogram serviceTotal = new Histogram(MAX_MICROS, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private Histogram responseInterval;
+    private Histogram serviceInterval;
+
+    void record(long intendedNanos, long sentNanos, long completedNanos, int status) {
+        responseRecorder.recordValue(Math.min(MAX_MICROS, (completedNanos - intendedNanos) / 1_000));
+        serviceRecorder.recordValue(Math.min(MAX_MICROS, (completedNanos - sentNanos) / 1_000));
+        if (status >= 200 && status < 300) {
+            succeeded.increment();
+        } else if (status >= 400 && status < 500) {
+            // Insufficient stock and the like: the server answered as designed.
+            rejected.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    void recordFailure(long intendedNanos, long sentNanos, long completedNanos) {
+        record(intendedNanos, sentNanos, completedNanos, 0);
+    }
+
+    /**
+     * Takes the latencies recorded since the previous call, adds them to the totals unless
+     * {@code keep} is false (warmup), and returns the response-time histogram of the interval.
+     */
+    synchronized Histogram interval(boolean keep) {
+        responseInterval = responseRecorder.getIntervalHistogram(responseInterval);
+        serviceInterval = serviceRecorder.getIntervalHistogram(serviceInterval);
+        if (keep) {
+            responseTotal.add(responseInterval);
+            serviceTotal.add(serviceInterval);
+        } else {
+            succeeded.reset();
+            rejected.reset();
+            failed.reset();
+        }
+        return responseInterval;
+    }
+
+    Histogram responseTotal() {
+        return responseTotal;
+    }
+
+    Histogram serviceTotal() {
+        return serviceTotal;
+    }
+
+    long succeeded() {
+        return succeeded.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    long failed() {
+        return failed.sum();
+    }
+}
@@ -0,0 +1,262 @@
+package org.inventory.management.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.inventory.management.dto.OrderRequestDTO;
+import org.inventory.management.dto.ProductPageResponseDTO;
+import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.support.ZipfSampler;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load test against a running instance. Requests are due at a fixed arrival rate
+ * (evenly spaced or Poisson) whatever the server does, at most {@code concurrency} are in flight,
+ * and each one's latency is measured from the moment it was due, so a stalled server shows up in the
+ * percentiles instead of silently lowering the offered load. Orders pick products with Zipf-skewed
+ * popularity over the catalog found at startup. Run with {@code ./gradlew loadTest}; see the README.
+ */
+public final class LoadTest {
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final Semaphore inFlight;
+    private final Endpoint[] endpointByTicket;
+
+    private long[] productsByPopularity;
+    private ZipfSampler popularity;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .build();
+        this.inFlight = new Semaphore(options.concurrency());
+
+        List<Endpoint> tickets = new ArrayList<>();
+        options.mix().forEach((endpoint, weight) -> {
+            stats.put(endpoint, new EndpointStats());
+            for (int i = 0; i < weight; i++) {
+                tickets.add(endpoint);
+            }
+        });
+        this.endpointByTicket = tickets.toArray(Endpoint[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestOptions.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        loadCatalog();
+        System.out.printf("Offering %.0f req/s (%s arrivals, at most %d in flight) to %s for %ds after %ds warmup%n",
+                options.rate(), options.poisson() ? "poisson" : "uniform", options.concurrency(),
+                options.baseUrl(), options.duration().toSeconds(), options.warmup().toSeconds());
+
+        long start = System.nanoTime();
+        long warmupEnd = start + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+        Thread dispatcher = new Thread(() -> dispatch(start, end), "load-dispatcher");
+        dispatcher.start();
+
+        sleepUntil(warmupEnd);
+        stats.values().forEach(endpoint -> endpoint.interval(false));
+        long reportNanos = options.reportInterval().toNanos();
+        for (long next = warmupEnd + reportNanos; next < end; next += reportNanos) {
+            sleepUntil(next);
+            report((next - warmupEnd) / 1_000_000_000, reportNanos);
+        }
+
+        dispatcher.join();
+        if (!inFlight.tryAcquire(options.concurrency(), options.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            System.out.println("Some requests were still in flight after the timeout; they are not counted");
+        }
+        stats.values().forEach(endpoint -> endpoint.interval(true));
+        summarize();
+    }
+
+    private void loadCatalog() throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        Long after = null;
+        while (ids.size() < options.catalogSize()) {
+            int limit = Math.min(1_000, options.catalogSize() - ids.size());
+            HttpResponse<byte[]> response = client.send(
+                    get("/products?limit=" + limit + (after == null ? "" : "&after=" + after)),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Reading the catalog failed with HTTP " + response.statusCode());
+            }
+            ProductPageResponseDTO page = objectMapper.readValue(response.body(), ProductPageResponseDTO.class);
+            page.getItems().stream().map(ProductResponseDTO::getId).forEach(ids::add);
+            after = page.getNextAfter();
+            if (after == null) {
+                break;
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The catalog is empty; start the service with products first");
+        }
+
+        // Popularity rank is a seeded shuffle of the catalog, so the hottest SKUs are not simply the oldest.
+        SplittableRandom random = new SplittableRandom(options.seed());
+        productsByPopularity = ids.stream().mapToLong(Long::longValue).toArray();
+        for (int i = productsByPopularity.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = productsByPopularity[i];
+            productsByPopularity[i] = productsByPopularity[j];
+            productsByPopularity[j] = swap;
+        }
+        popularity = new ZipfSampler(productsByPopularity.length, options.zipfExponent());
+        System.out.printf("Catalog: %d products%n", productsByPopularity.length);
+    }
+
+    private void dispatch(long start, long end) {
+        SplittableRandom random = new SplittableRandom(options.seed() + 1);
+        double meanGapNanos = 1_000_000_000 / options.rate();
+        double due = start;
+        while (due < end) {
+            long intended = (long) due;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Blocking here does not move the schedule; the wait is charged to the request's latency.
+            inFlight.acquireUninterruptibly();
+
+            Endpoint endpoint = endpointByTicket[random.nextInt(endpointByTicket.length)];
+            HttpRequest request = request(endpoint, random);
+            EndpointStats endpointStats = stats.get(endpoint);
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long completed = System.nanoTime();
+                if (error != null) {
+                    endpointStats.recordFailure(intended, sent, completed);
+                } else {
+                    endpointStats.record(intended, sent, completed, response.statusCode());
+                }
+                inFlight.release();
+            });
+
+            due += options.poisson() ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint, SplittableRandom random) {
+        return switch (endpoint) {
+            case ORDERS -> post("/orders", order(random));
+            case PRODUCTS -> get("/products?limit=" + options.pageSize()
+                    + "&after=" + productsByPopularity[random.nextInt(productsByPopularity.length)]);
+            case CATALOG -> get("/products");
+            case LOW_STOCK -> get("/products/low-stock?threshold=" + options.lowStockThreshold());
+            case SUMMARY -> get("/orders/orders/summary");
+        };
+    }
+
+    private byte[] order(SplittableRandom random) {
+        int lines = 1 + random.nextInt(Math.min(options.maxItemsPerOrder(), productsByPopularity.length));
+        List<OrderRequestDTO.Item> items = new ArrayList<>(lines);
+        while (items.size() < lines) {
+            long productId = productsByPopularity[popularity.sample(random) - 1];
+            if (items.stream().noneMatch(item -> item.getProductId() == productId)) {
+                items.add(new OrderRequestDTO.Item(productId, 1));
+            }
+        }
+        try {
+            return objectMapper.writeValueAsBytes(new OrderRequestDTO(items));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(options.baseUrl().resolve(path)).timeout(options.timeout()).GET().build();
+    }
+
+    private HttpRequest post(String path, byte[] body) {
+        return HttpRequest.newBuilder(options.baseUrl().resolve(path))
+                .timeout(options.timeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private void report(long elapsedSeconds, long intervalNanos) {
+        stats.forEach((endpoint, endpointStats) -> {
+            Histogram interval = endpointStats.interval(true);
+            System.out.printf("[%5ds] %-26s %8d req %9.1f/s  p50 %8.2f  p99 %8.2f  p99.9 %8.2f ms%n",
+                    elapsedSeconds, endpoint.label(), interval.getTotalCount(),
+                    interval.getTotalCount() * 1e9 / intervalNanos,
+                    millis(interval, 50), millis(interval, 99), millis(interval, 99.9));
+        });
+    }
+
+    private void summarize() throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        Histogram allResponses = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+        Histogram allServices = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+        long[] outcomes = new long[3];
+        System.out.println();
+        System.out.printf("%-26s %9s %9s %9s %9s %10s | %-38s | %s%n", "endpoint", "requests", "ok", "rejected",
+                "failed", "req/s", "response ms p50/p90/p99/p99.9/max", "service ms p50/p99/p99.9");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            allResponses.add(endpointStats.responseTotal());
+            allServices.add(endpointStats.serviceTotal());
+            outcomes[0] += endpointStats.succeeded();
+            outcomes[1] += endpointStats.rejected();
+            outcomes[2] += endpointStats.failed();
+            printRow(entry.getKey().label(), endpointStats.responseTotal(), endpointStats.serviceTotal(),
+                    new long[]{endpointStats.succeeded(), endpointStats.rejected(), endpointStats.failed()}, seconds);
+            write(entry.getKey().name().toLowerCase() + ".hgrm", endpointStats.responseTotal());
+        }
+        printRow("all", allResponses, allServices, outcomes, seconds);
+        write("all.hgrm", allResponses);
+    }
+
+    private static void printRow(String label, Histogram response, Histogram service, long[] outcomes, double seconds) {
+        System.out.printf("%-26s %9d %9d %9d %9d %10.1f | %6.2f %6.2f %6.2f %7.2f %8.2f | %7.2f %7.2f %8.2f%n",
+                label, response.getTotalCount(), outcomes[0], outcomes[1], outcomes[2],
+                response.getTotalCount() / seconds,
+                millis(response, 50), millis(response, 90), millis(response, 99), millis(response, 99.9),
+                response.getMaxValue() / 1000.0,
+                millis(service, 50), millis(service, 99), millis(service, 99.9));
+    }
+
+    private void write(String fileName, Histogram histogram) throws IOException {
+        if (options.histogramDir() == null) {
+            return;
+        }
+        Files.createDirectories(options.histogramDir());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.histogramDir().resolve(fileName)))) {
+            // Microseconds in, milliseconds out, as HdrHistogram's plotter expects.
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long wait;
+        while ((wait = nanoTime - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.inventory.management.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line settings, given as {@code --name=value}. Anything not given keeps the default below.
+ */
+record LoadTestOptions(URI baseUrl,
+                       double rate,
+                       boolean poisson,
+                       Duration duration,
+                       Duration warmup,
+                       int concurrency,
+                       Duration timeout,
+                       Map<Endpoint, Integer> mix,
+                       double zipfExponent,
+                       int maxItemsPerOrder,
+                       int catalogSize,
+                       int pageSize,
+                       int lowStockThreshold,
+                       Duration reportInterval,
+                       long seed,
+                       Path histogramDir) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(take(values, "base-url", "http://localhost:8080")),
+                Double.parseDouble(take(values, "rate", "200")),
+                switch (take(values, "arrivals", "uniform")) {
+                    case "uniform" -> false;
+                    case "poisson" -> true;
+                    default -> throw new IllegalArgumentException("arrivals must be uniform or poisson");
+                },
+                Duration.ofSeconds(Long.parseLong(take(values, "duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(take(values, "warmup", "10"))),
+                Integer.parseInt(take(values, "concurrency", "64")),
+                Duration.ofSeconds(Long.parseLong(take(values, "timeout", "10"))),
+                parseMix(take(values, "mix", "orders:50,products:15,catalog:5,low-stock:20,summary:10")),
+                Double.parseDouble(take(values, "zipf-exponent", "1.0")),
+                Integer.parseInt(take(values, "max-items", "3")),
+                Integer.parseInt(take(values, "catalog-size", "100000")),
+                Integer.parseInt(take(values, "page-size", "100")),
+                Integer.parseInt(take(values, "low-stock-threshold", "10")),
+                Duration.ofSeconds(Long.parseLong(take(values, "report-interval", "5"))),
+                Long.parseLong(take(values, "seed", "42")),
+                values.containsKey("histogram-dir") ? Path.of(values.remove("histogram-dir")) : null);
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.rate <= 0 || options.concurrency < 1 || options.maxItemsPerOrder < 1 || options.catalogSize < 1) {
+            throw new IllegalArgumentException("rate, concurrency, max-items and catalog-size must be positive");
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.split(":");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.of(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("mix needs at least one endpoint with a positive weight");
+        }
+        return weights;
+    }
+}
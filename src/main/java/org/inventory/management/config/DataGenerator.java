@@ -0,0 +1,202 @@
+package org.inventory.management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.inventory.management.entity.enums.OrderStatus;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.support.ZipfSampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic catalog and order history for the {@code generate} profile, in place of the fixed sample
+ * data. Order lines pick products from a Zipf distribution over a shuffled popularity ranking, so a
+ * few products take most of the orders without those being the lowest ids. Rows are written with
+ * explicit ids through JDBC batches, one transaction per {@code batch-size} rows, and the id
+ * sequences are moved past them afterwards so JPA inserts carry on where the generator stopped.
+ * Ordered values are rebuilt with one set-based update at the end. The same seed gives the same data.
+ */
+@Slf4j
+@Configuration
+@Profile("generate")
+public class DataGenerator {
+
+    // Matches allocationSize on the entities' sequence generators.
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductRepository productRepository;
+    private final int productCount;
+    private final int orderCount;
+    private final int maxItemsPerOrder;
+    private final double zipfExponent;
+    private final int days;
+    private final long seed;
+    private final int batchSize;
+
+    public DataGenerator(JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         ProductRepository productRepository,
+                         @Value("${inventory.generate.products:100000}") int productCount,
+                         @Value("${inventory.generate.orders:1000000}") int orderCount,
+                         @Value("${inventory.generate.max-items-per-order:5}") int maxItemsPerOrder,
+                         @Value("${inventory.generate.zipf-exponent:1.0}") double zipfExponent,
+                         @Value("${inventory.generate.days:365}") int days,
+                         @Value("${inventory.generate.seed:42}") long seed,
+                         @Value("${inventory.generate.batch-size:5000}") int batchSize) {
+        if (productCount < 1 || orderCount < 0 || maxItemsPerOrder < 1 || days < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Generator sizes must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.productRepository = productRepository;
+        this.productCount = productCount;
+        this.orderCount = orderCount;
+        this.maxItemsPerOrder = Math.min(maxItemsPerOrder, productCount);
+        this.zipfExponent = zipfExponent;
+        this.days = days;
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
+
+    @Bean
+    public CommandLineRunner generateData() {
+        return args -> generate();
+    }
+
+    public void generate() {
+        long started = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        long firstProductId = nextId("product");
+        insertProducts(firstProductId, random);
+        long[] productsByRank = rankProducts(firstProductId, random);
+
+        long firstOrderId = nextId("orders");
+        long itemCount = insertOrders(firstOrderId, nextId("order_item"), productsByRank, random);
+
+        transactionTemplate.executeWithoutResult(status -> productRepository.rebuildOrderedValues(OrderStatus.CANCELLED));
+        log.info("Generated {} products, {} orders and {} order items in {} ms",
+                productCount, orderCount, itemCount, System.currentTimeMillis() - started);
+    }
+
+    private void insertProducts(long firstId, SplittableRandom random) {
+        String sql = "insert into product (id, name, sku, price, stock, ordered_value, version) values (?, ?, ?, ?, ?, 0, 0)";
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (long id = firstId; id < firstId + productCount; id++) {
+            rows.add(new Object[]{id, "Product " + id, "GEN-" + id,
+                    BigDecimal.valueOf(random.nextLong(100, 100_000), 2), random.nextInt(0, 1_000)});
+            if (rows.size() == batchSize) {
+                insert(sql, rows);
+            }
+        }
+        insert(sql, rows);
+        restartSequence("product_seq", firstId + productCount);
+    }
+
+    private long insertOrders(long firstOrderId, long firstItemId, long[] productsByRank, SplittableRandom random) {
+        String orderSql = "insert into orders (id, order_date, status, version) values (?, ?, ?, 0)";
+        String itemSql = "insert into order_item (id, order_id, product_id, quantity) values (?, ?, ?, ?)";
+        ZipfSampler popularity = new ZipfSampler(productsByRank.length, zipfExponent);
+        LocalDateTime now = LocalDateTime.now();
+        long historySeconds = days * 86_400L;
+
+        List<Object[]> orders = new ArrayList<>(batchSize);
+        List<Object[]> items = new ArrayList<>(batchSize * maxItemsPerOrder);
+        long[] picked = new long[maxItemsPerOrder];
+        long itemId = firstItemId;
+        for (long orderId = firstOrderId; orderId < firstOrderId + orderCount; orderId++) {
+            orders.add(new Object[]{orderId, now.minusSeconds(random.nextLong(historySeconds)), status(random).name()});
+
+            int lines = 1 + random.nextInt(maxItemsPerOrder);
+            for (int line = 0; line < lines; line++) {
+                picked[line] = productsByRank[popularity.sample(random) - 1];
+                if (contains(picked, line, picked[line])) {
+                    // One line per product, as the order path merges them; a repeat just shortens the order.
+                    continue;
+                }
+                items.add(new Object[]{itemId++, orderId, picked[line], 1 + random.nextInt(3)});
+            }
+
+            if (orders.size() == batchSize) {
+                insertOrderChunk(orderSql, orders, itemSql, items);
+            }
+        }
+        insertOrderChunk(orderSql, orders, itemSql, items);
+        restartSequence("orders_seq", firstOrderId + orderCount);
+        restartSequence("order_item_seq", itemId);
+        return itemId - firstItemId;
+    }
+
+    private long[] rankProducts(long firstId, SplittableRandom random) {
+        long[] ids = new long[productCount];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = firstId + i;
+        }
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    private static OrderStatus status(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 70 ? OrderStatus.COMPLETED : roll < 90 ? OrderStatus.PENDING : OrderStatus.CANCELLED;
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insertOrderChunk(String orderSql, List<Object[]> orders, String itemSql, List<Object[]> items) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(orderSql, orders);
+            jdbcTemplate.batchUpdate(itemSql, items);
+        });
+        orders.clear();
+        items.clear();
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+        rows.clear();
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    /**
+     * Moves a sequence past the generated ids. Hibernate's pooled optimizer may hand out up to one
+     * allocation below the value it reads, so the sequence restarts a full allocation further on.
+     */
+    private void restartSequence(String sequence, long nextFreeId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (nextFreeId + ALLOCATION_SIZE));
+    }
+}
@@ -7,20 +7,24 @@ import org.inventory.management.entity.Product;
 import org.inventory.management.entity.enums.OrderStatus;
 import org.inventory.management.repository.OrderRepository;
 import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.service.OrderService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Configuration
+@Profile("!generate")
 @RequiredArgsConstructor
 public class DataSeeder {
 
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
+    private final OrderService orderService;
 
     @Bean
     public CommandLineRunner seedData() {
@@ -58,6 +62,7 @@ public class DataSeeder {
         ));
 
         orderRepository.saveAll(List.of(order1, order2));
+        orderService.rebuildOrderValueSummary();
     }
 
     private Product createProduct(String name, String sku, double price, int stock) {
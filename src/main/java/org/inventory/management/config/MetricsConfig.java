@@ -0,0 +1,62 @@
+package org.inventory.management.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.inventory.management.support.SqlStatementCounter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Records how many SQL statements each request issues as the {@code hibernate.statements.per.request}
+ * distribution, tagged with the matched URI pattern and HTTP method.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                SqlStatementCounter.reset();
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry == null) {
+                    return;
+                }
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("hibernate.statements.per.request")
+                        .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                        .tag("method", request.getMethod())
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(registry)
+                        .record(SqlStatementCounter.total());
+            }
+        });
+    }
+}
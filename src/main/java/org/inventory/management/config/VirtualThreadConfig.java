@@ -0,0 +1,36 @@
+package org.inventory.management.config;
+
+import org.inventory.management.support.ConnectionLimitingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * With {@code spring.threads.virtual.enabled=true} on Java 21+, Tomcat, {@code @Scheduled} and
+ * {@code @Async} work run on virtual threads. Request concurrency is then no longer bounded by a
+ * thread pool, so the datasource is wrapped in a limiter that queues callers for connections.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimiter(
+            @Value("${inventory.datasource.max-concurrent-connections:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConnections,
+            @Value("${inventory.datasource.acquire-timeout-ms:5000}") long acquireTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -4,11 +4,26 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
 import java.util.Map;
 
+import org.inventory.management.dto.BatchOrderRequestDTO;
+import org.inventory.management.dto.BatchOrderResponseDTO;
+import org.inventory.management.dto.BulkStatusUpdateRequestDTO;
+import org.inventory.management.dto.BulkStatusUpdateResponseDTO;
+import org.inventory.management.dto.OrderPageResponseDTO;
 import org.inventory.management.dto.OrderRequestDTO;
 import org.inventory.management.dto.OrderResponseDTO;
+import org.inventory.management.dto.OrderTicketDTO;
+import org.inventory.management.exception.ResourceNotFoundException;
 import org.inventory.management.service.OrderService;
+import org.inventory.management.service.impl.IdempotencyStore;
+import org.inventory.management.service.impl.OrderIntakeQueue;
+import org.inventory.management.support.OptimisticLockRetryExecutor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,20 +33,73 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final OptimisticLockRetryExecutor optimisticLockRetryExecutor;
+    private final ObjectProvider<OrderIntakeQueue> orderIntakeQueue;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
-    public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody OrderRequestDTO request) {
-        OrderResponseDTO response = orderService.createOrder(request);
+    public ResponseEntity<?> createOrder(@Valid @RequestBody OrderRequestDTO request,
+                                         @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        OrderIntakeQueue intake = orderIntakeQueue.getIfAvailable();
+        if (intake != null) {
+            OrderTicketDTO ticket = idempotent(idempotencyKey, request, OrderTicketDTO.class, () -> intake.submit(request));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/orders/tickets/" + ticket.getTicketId()))
+                    .body(ticket);
+        }
+        OrderResponseDTO response = idempotent(idempotencyKey, request, OrderResponseDTO.class,
+                () -> orderService.createOrder(request));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    private <T> T idempotent(String key, OrderRequestDTO request, Class<T> responseType, Supplier<T> action) {
+        return key == null ? action.get() : idempotencyStore.execute(key, request, responseType, action);
+    }
+
+    @GetMapping("/{id}")
+    public OrderResponseDTO getOrder(@PathVariable Long id) {
+        return orderService.getOrder(id);
+    }
+
+    @GetMapping
+    public OrderPageResponseDTO getOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return orderService.getOrders(status, from, to, page, size);
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    public OrderTicketDTO getTicket(@PathVariable String ticketId) {
+        OrderIntakeQueue intake = orderIntakeQueue.getIfAvailable();
+        if (intake == null) {
+            throw new ResourceNotFoundException("Asynchronous order intake is not enabled");
+        }
+        return intake.getTicket(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found: " + ticketId));
+    }
+
+    @PostMapping("/batch")
+    public BatchOrderResponseDTO createOrders(@Valid @RequestBody BatchOrderRequestDTO request) {
+        return orderService.createOrders(request.getOrders());
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<Void> updateStatus(@PathVariable Long id, @RequestParam String status) {
-        orderService.updateOrderStatus(id, status);
+        optimisticLockRetryExecutor.run(() -> orderService.updateOrderStatus(id, status));
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/status")
+    public BulkStatusUpdateResponseDTO updateStatuses(@Valid @RequestBody BulkStatusUpdateRequestDTO request) {
+        return orderService.updateOrderStatuses(request);
+    }
+
     @GetMapping("/orders/summary")
     public ResponseEntity<Map<String, BigDecimal>> getOrderSummary() {
         return ResponseEntity.ok(orderService.summarizeOrderValuePerProduct());
@@ -1,16 +1,43 @@
 package org.inventory.management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.inventory.management.dto.ProductImportResultDTO;
+import org.inventory.management.dto.ProductPageResponseDTO;
 import org.inventory.management.dto.ProductRequestDTO;
 import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.dto.SalesVelocityDTO;
+import org.inventory.management.dto.StockMovementDTO;
+import org.inventory.management.dto.StockMovementPageDTO;
+import org.inventory.management.exception.ResourceNotFoundException;
 import org.inventory.management.mapper.ProductMapper;
+import org.inventory.management.service.ProductImportService;
 import org.inventory.management.service.ProductService;
+import org.inventory.management.service.impl.CatalogSnapshot;
+import org.inventory.management.service.impl.LowStockWatcher;
+import org.inventory.management.service.impl.SalesVelocityTracker;
+import org.inventory.management.service.impl.StockJournalRecorder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @RestController
@@ -18,7 +45,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_MOVEMENTS = 10_000;
+    private static final int MAX_VELOCITY_RESULTS = 1_000;
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ObjectProvider<LowStockWatcher> lowStockWatcher;
+    private final ObjectProvider<StockJournalRecorder> stockJournal;
+    private final ObjectProvider<SalesVelocityTracker> salesVelocity;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ProductResponseDTO> createProduct(@Valid @RequestBody ProductRequestDTO request) {
@@ -27,11 +65,109 @@ public class ProductController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(path = "/bulk", consumes = "application/x-ndjson")
+    public ProductImportResultDTO importNdjson(InputStream body) throws IOException {
+        return productImportService.importProducts(
+                new InputStreamReader(body, StandardCharsets.UTF_8), ProductImportService.Format.NDJSON);
+    }
+
+    @PostMapping(path = "/bulk", consumes = "text/csv")
+    public ProductImportResultDTO importCsv(InputStream body) throws IOException {
+        return productImportService.importProducts(
+                new InputStreamReader(body, StandardCharsets.UTF_8), ProductImportService.Format.CSV);
+    }
+
+    /**
+     * Served from the pre-serialized catalog snapshot; a matching {@code If-None-Match} gets a 304
+     * without touching the database or Jackson.
+     */
     @GetMapping
-    public List<ProductResponseDTO> getAllProducts() {
-        return productService.getAllProducts().stream()
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogSnapshot.Snapshot snapshot = catalogSnapshot.get();
+        boolean gzip = snapshot.gzipped() != null && acceptEncoding != null
+                && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzipped());
+        }
+        return response.body(snapshot.json());
+    }
+
+    /**
+     * A keyset page; {@code after} alone pages with the default limit rather than falling through to
+     * the full catalog.
+     */
+    @GetMapping(params = "after")
+    public ProductPageResponseDTO getProductPage(@RequestParam Long after,
+                                                 @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        return getProductPageFrom(after, limit);
+    }
+
+    @GetMapping(params = {"limit", "!after"})
+    public ProductPageResponseDTO getFirstProductPage(@RequestParam int limit) {
+        return getProductPageFrom(null, limit);
+    }
+
+    private ProductPageResponseDTO getProductPageFrom(Long after, int limit) {
+        List<ProductResponseDTO> items = productService.getProductsAfter(after, limit);
+        Long nextAfter = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+        return new ProductPageResponseDTO(items, nextAfter);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean array = "json".equalsIgnoreCase(format);
+        if (!array && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+
+        StreamingResponseBody body = out -> {
+            ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (SequenceWriter writer = array
+                    ? rowWriter.writeValuesAsArray(out)
+                    : rowWriter.withRootValueSeparator("\n").writeValues(out)) {
+                productService.forEachProduct(product -> {
+                    try {
+                        writer.write(product);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(array ? MediaType.APPLICATION_JSON : NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/{id}")
+    public ProductResponseDTO getProduct(@PathVariable Long id) {
+        return productService.getProductById(id)
                 .map(ProductMapper::toDTO)
-                .collect(Collectors.toList());
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
+    }
+
+    @GetMapping("/sku/{sku}")
+    public ProductResponseDTO getProductBySku(@PathVariable String sku) {
+        return productService.getProductBySku(sku)
+                .map(ProductMapper::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
     }
 
     @GetMapping("/low-stock")
@@ -40,4 +176,53 @@ public class ProductController {
                 .map(ProductMapper::toDTO)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @GetMapping(path = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStock(@RequestParam int threshold) {
+        LowStockWatcher watcher = lowStockWatcher.getIfAvailable();
+        if (watcher == null) {
+            throw new ResourceNotFoundException("Low-stock watch mode is not enabled");
+        }
+        return watcher.subscribe(threshold);
+    }
+
+    @GetMapping("/movements")
+    public StockMovementPageDTO getStockMovements(@RequestParam(defaultValue = "0") long from,
+                                                  @RequestParam(defaultValue = "1000") int limit) {
+        StockJournalRecorder journal = stockJournal.getIfAvailable();
+        if (journal == null) {
+            throw new ResourceNotFoundException("Stock journal is not enabled");
+        }
+        if (from < 0 || limit < 1 || limit > MAX_MOVEMENTS) {
+            throw new IllegalArgumentException("from must be >= 0 and limit between 1 and " + MAX_MOVEMENTS);
+        }
+        List<StockMovementDTO> items = journal.movementsSince(from, limit).stream()
+                .map(ProductMapper::toDTO)
+                .collect(Collectors.toList());
+        long nextOffset = items.isEmpty() ? from : items.get(items.size() - 1).getOffset() + 1;
+        return new StockMovementPageDTO(items, nextOffset);
+    }
+
+    @GetMapping("/velocity")
+    public List<SalesVelocityDTO> getFastestSelling(@RequestParam(defaultValue = "1h") String window,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_VELOCITY_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_VELOCITY_RESULTS);
+        }
+        return velocityTracker().fastestSelling(SalesVelocityTracker.Window.of(window), limit);
+    }
+
+    @GetMapping("/{id}/velocity")
+    public SalesVelocityDTO getVelocity(@PathVariable Long id, @RequestParam(defaultValue = "1h") String window) {
+        return velocityTracker().velocity(id, SalesVelocityTracker.Window.of(window))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
+    }
+
+    private SalesVelocityTracker velocityTracker() {
+        SalesVelocityTracker tracker = salesVelocity.getIfAvailable();
+        if (tracker == null) {
+            throw new ResourceNotFoundException("Sales velocity tracking is not enabled");
+        }
+        return tracker;
+    }
+}
@@ -0,0 +1,17 @@
+package org.inventory.management.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderRequestDTO {
+
+    @NotEmpty(message = "Orders list cannot be empty")
+    private List<@Valid OrderRequestDTO> orders;
+}
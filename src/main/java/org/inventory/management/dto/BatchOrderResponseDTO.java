@@ -0,0 +1,35 @@
+package org.inventory.management.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderResponseDTO {
+    private int created;
+    private int rejected;
+    private List<Result> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+        /** Position of the order in the request. */
+        private int index;
+        private String status;
+        private OrderResponseDTO order;
+        private String error;
+
+        public static Result created(int index, OrderResponseDTO order) {
+            return new Result(index, "CREATED", order, null);
+        }
+
+        public static Result rejected(int index, String error) {
+            return new Result(index, "REJECTED", null, error);
+        }
+    }
+}
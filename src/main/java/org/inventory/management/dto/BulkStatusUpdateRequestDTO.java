@@ -0,0 +1,28 @@
+package org.inventory.management.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves orders to {@code status}, selected either by {@code ids} or by a filter on their current
+ * status and order date ({@code from} inclusive, {@code to} exclusive).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateRequestDTO {
+
+    @NotBlank(message = "Status is required")
+    private String status;
+
+    private List<@NotNull Long> ids;
+
+    private String currentStatus;
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
@@ -0,0 +1,26 @@
+package org.inventory.management.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateResponseDTO {
+    private int updated;
+    private int skipped;
+    /** The first skipped orders with the reason each was left alone. */
+    private List<Skip> skips;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Skip {
+        private Long orderId;
+        private String status;
+        private String reason;
+    }
+}
@@ -0,0 +1,17 @@
+package org.inventory.management.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageResponseDTO {
+    private List<OrderResponseDTO> items;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
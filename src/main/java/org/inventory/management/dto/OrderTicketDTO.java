@@ -0,0 +1,15 @@
+package org.inventory.management.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderTicketDTO {
+    private String ticketId;
+    /** PENDING until a worker has placed the order, then CREATED, REJECTED or FAILED. */
+    private String status;
+    private OrderResponseDTO order;
+    private String error;
+}
@@ -0,0 +1,33 @@
+package org.inventory.management.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportResultDTO {
+
+    private long received;
+    private long imported;
+    private long failed;
+
+    /**
+     * The first rejected rows; {@link #failed} counts all of them.
+     */
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private long line;
+        private String sku;
+        private String error;
+    }
+}
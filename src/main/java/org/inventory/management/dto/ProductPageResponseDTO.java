@@ -0,0 +1,14 @@
+package org.inventory.management.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductPageResponseDTO {
+    private List<ProductResponseDTO> items;
+    private Long nextAfter;
+}
@@ -0,0 +1,21 @@
+package org.inventory.management.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesVelocityDTO {
+    private Long productId;
+    private String sku;
+    private Integer stock;
+    private long unitsLastMinute;
+    private long unitsLastHour;
+    private long unitsLastDay;
+    /** Window the rate is taken over: 1m, 1h or 24h. */
+    private String window;
+    private double unitsPerHour;
+    /** Hours until the current stock runs out at that rate; null when nothing sold in the window. */
+    private Double hoursToStockout;
+}
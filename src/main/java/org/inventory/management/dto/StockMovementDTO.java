@@ -0,0 +1,18 @@
+package org.inventory.management.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovementDTO {
+    private long offset;
+    private Long productId;
+    private int delta;
+    private Long orderId;
+    private Instant timestamp;
+    private boolean baseline;
+}
@@ -0,0 +1,14 @@
+package org.inventory.management.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovementPageDTO {
+    private List<StockMovementDTO> items;
+    private long nextOffset;
+}
@@ -0,0 +1,66 @@
+package org.inventory.management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response a request carrying an {@code Idempotency-Key} produced, written in the same
+ * transaction as the work itself. The key is the primary key, so two instances racing on the same
+ * key cannot both commit.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "idempotency_record", indexes = @Index(name = "idx_idempotency_record_created", columnList = "created_at"))
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] response;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
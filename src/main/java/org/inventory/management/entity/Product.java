@@ -11,10 +11,12 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = @Index(name = "idx_product_stock", columnList = "stock"))
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Product name is required")
@@ -30,6 +32,14 @@ public class Product {
     @Min(value = 0, message = "Stock cannot be negative")
     private Integer stock;
 
+    /**
+     * Running value (price x units) of this product across orders that are not cancelled; backs the
+     * order summary so it never has to scan order lines.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private BigDecimal orderedValue = BigDecimal.ZERO;
+
     @Version
     private Integer version;
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package org.inventory.management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock taken from a hot product by a combined decrement but not yet claimed by an order. Rows are
+ * written in the decrement's transaction and deleted by the order transaction that claims them, so
+ * a row that is still there after a crash is stock that has to be given back.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "stock_grant", indexes = @Index(name = "idx_stock_grant_granted_at", columnList = "granted_at"))
+public class StockGrant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_grant_seq")
+    @SequenceGenerator(name = "stock_grant_seq", sequenceName = "stock_grant_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(name = "granted_at", nullable = false)
+    private LocalDateTime grantedAt;
+}
@@ -0,0 +1,45 @@
+package org.inventory.management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A stock delta accepted by the in-memory ledger but not yet applied to {@link Product#getStock()}.
+ * Rows are written in the order's transaction and removed by the flush that applies them, so
+ * whatever survives a crash is exactly what still has to be replayed.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "stock_ledger_entry", indexes = {
+        @Index(name = "idx_stock_ledger_entry_product", columnList = "product_id"),
+        @Index(name = "idx_stock_ledger_entry_batch", columnList = "flush_batch")
+})
+public class StockLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_ledger_entry_seq")
+    @SequenceGenerator(name = "stock_ledger_entry_seq", sequenceName = "stock_ledger_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int delta;
+
+    @Column(name = "flush_batch")
+    private Long flushBatch;
+}
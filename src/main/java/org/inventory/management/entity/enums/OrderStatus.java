@@ -1,7 +1,37 @@
 package org.inventory.management.entity.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(COMPLETED, CANCELLED));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    /**
+     * Every status an order may move to {@code target} from.
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        TRANSITIONS.forEach((source, targets) -> {
+            if (targets.contains(target)) {
+                sources.add(source);
+            }
+        });
+        return sources;
+    }
 }
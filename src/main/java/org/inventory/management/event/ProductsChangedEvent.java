@@ -0,0 +1,18 @@
+package org.inventory.management.event;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Published inside a transaction that rewrites product rows without moving available stock, such as
+ * a ledger flush or an ordered value adjustment. A {@code null} {@code productIds} means every product.
+ */
+@Value
+public class ProductsChangedEvent {
+    Set<Long> productIds;
+
+    public static ProductsChangedEvent all() {
+        return new ProductsChangedEvent(null);
+    }
+}
@@ -0,0 +1,27 @@
+package org.inventory.management.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Published inside the transaction that changes stock. {@code deltas} maps product id to the signed
+ * change in units; {@code orderId} is set when the change belongs to an order. {@code created} marks
+ * the initial stock of new products, whose deltas are then also their absolute stock.
+ */
+@Value
+@AllArgsConstructor
+public class StockChangedEvent {
+    Long orderId;
+    Map<Long, Integer> deltas;
+    boolean created;
+
+    public StockChangedEvent(Long orderId, Map<Long, Integer> deltas) {
+        this(orderId, deltas, false);
+    }
+
+    public static StockChangedEvent created(Map<Long, Integer> initialStock) {
+        return new StockChangedEvent(null, initialStock, true);
+    }
+}
@@ -1,7 +1,11 @@
 package org.inventory.management.exception;
 
+import org.inventory.management.support.InventoryMetrics;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -12,14 +16,22 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final InventoryMetrics inventoryMetrics;
+
+    public GlobalExceptionHandler(InventoryMetrics inventoryMetrics) {
+        this.inventoryMetrics = inventoryMetrics;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleNotFound(ResourceNotFoundException ex) {
+        inventoryMetrics.resourceNotFound();
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(Map.of("error", ex.getMessage()));
     }
 
     @ExceptionHandler(InsufficientStockException.class)
     public ResponseEntity<Map<String, String>> handleStock(InsufficientStockException ex) {
+        inventoryMetrics.insufficientStock();
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(Map.of("error", ex.getMessage()));
     }
@@ -44,6 +56,26 @@ public class GlobalExceptionHandler {
                 .body(ex.getMessage());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        inventoryMetrics.optimisticLockRejected();
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Resource was modified concurrently, please retry"));
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, String>> handleBusy(ServiceBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, String>> handleNoConnection(CannotCreateTransactionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Service is busy, please retry"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneric(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
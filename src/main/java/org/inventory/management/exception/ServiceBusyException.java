@@ -0,0 +1,7 @@
+package org.inventory.management.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
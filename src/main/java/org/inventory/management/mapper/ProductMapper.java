@@ -2,7 +2,11 @@ package org.inventory.management.mapper;
 
 import org.inventory.management.dto.ProductRequestDTO;
 import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.dto.StockMovementDTO;
 import org.inventory.management.entity.Product;
+import org.inventory.management.support.StockJournal;
+
+import java.time.Instant;
 
 public class ProductMapper {
 
@@ -24,4 +28,15 @@ public class ProductMapper {
                 .stock(product.getStock())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static StockMovementDTO toDTO(StockJournal.Movement movement) {
+        return StockMovementDTO.builder()
+                .offset(movement.offset())
+                .productId(movement.productId())
+                .delta(movement.delta())
+                .orderId(movement.orderId() == 0 || movement.baseline() ? null : movement.orderId())
+                .timestamp(Instant.ofEpochMilli(movement.timestamp()))
+                .baseline(movement.baseline())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package org.inventory.management.repository;
+
+import org.inventory.management.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,7 +1,85 @@
 package org.inventory.management.repository;
 
 import org.inventory.management.entity.Order;
+import org.inventory.management.entity.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    Optional<Order> findWithItemsById(Long id);
+
+    /**
+     * One page of order ids, newest first. Paging ids instead of fetch-joined orders keeps the limit
+     * in SQL; {@link #findWithItemsByIdIn} then loads the page in a single statement.
+     */
+    @Query(value = "select o.id from Order o " +
+            "where (:status is null or o.status = :status) " +
+            "and (:from is null or o.orderDate >= :from) " +
+            "and (:to is null or o.orderDate < :to) " +
+            "order by o.orderDate desc, o.id desc",
+            countQuery = "select count(o) from Order o " +
+                    "where (:status is null or o.status = :status) " +
+                    "and (:from is null or o.orderDate >= :from) " +
+                    "and (:to is null or o.orderDate < :to)")
+    Page<Long> findIds(@Param("status") OrderStatus status,
+                       @Param("from") LocalDateTime from,
+                       @Param("to") LocalDateTime to,
+                       Pageable pageable);
+
+    @Query("select o from Order o left join fetch o.items i left join fetch i.product where o.id in :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The next ids above {@code after}, in id order, of the orders matching the optional status and
+     * date range; a keyset page, so a bulk update can walk any number of orders a chunk at a time.
+     */
+    @Query("select o.id from Order o " +
+            "where o.id > :after " +
+            "and (:status is null or o.status = :status) " +
+            "and (:from is null or o.orderDate >= :from) " +
+            "and (:to is null or o.orderDate < :to) " +
+            "order by o.id")
+    List<Long> findIdsMatchingAfter(@Param("after") Long after,
+                                    @Param("status") OrderStatus status,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    Limit limit);
+
+    /**
+     * Locks the given orders that are currently in one of {@code statuses} and returns their ids, so
+     * a following set-based update changes exactly these rows.
+     */
+    @Query(value = "select id from orders where id in (:ids) and status in (:statuses) for update",
+            nativeQuery = true)
+    List<Long> lockIdsInStatus(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<String> statuses);
+
+    @Query("select o.id, o.reservationExpiresAt from Order o " +
+            "where o.reservationExpiresAt is not null and o.status = :status")
+    List<Object[]> findReservationDeadlines(@Param("status") OrderStatus status);
+
+    /**
+     * Units per product across the lines of the given orders.
+     */
+    @Query("select i.product.id, sum(i.quantity) from OrderItem i where i.order.id in :orderIds group by i.product.id")
+    List<Object[]> sumQuantitiesByProduct(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("select o.id, o.status from Order o where o.id in :ids")
+    List<Object[]> findStatuses(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Order o set o.status = :status, o.version = o.version + 1 where o.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") OrderStatus status);
+}
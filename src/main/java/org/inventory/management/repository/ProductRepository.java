@@ -1,12 +1,103 @@
 package org.inventory.management.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.inventory.management.dto.ProductResponseDTO;
 import org.inventory.management.entity.Product;
+import org.inventory.management.entity.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    /**
+     * Builds response rows straight from the result set; nothing enters the persistence context.
+     */
+    String PRODUCT_VIEW = "select new org.inventory.management.dto.ProductResponseDTO(" +
+            "p.id, p.name, p.sku, p.price, p.stock) from Product p ";
+
     Optional<Product> findBySku(String sku);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select p.sku from Product p where p.sku in :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
     List<Product> findByStockLessThan(Integer threshold);
-}
\ No newline at end of file
+
+    @Query(PRODUCT_VIEW + "order by p.id")
+    List<ProductResponseDTO> findAllViews();
+
+    @Query(PRODUCT_VIEW + "where p.id > :after order by p.id")
+    List<ProductResponseDTO> findViewsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(PRODUCT_VIEW + "where p.id in :ids")
+    List<ProductResponseDTO> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PRODUCT_VIEW + "order by p.id")
+    Stream<ProductResponseDTO> streamAllViews();
+
+    /**
+     * Current id, name, sku, price and available stock for the given products. Available stock
+     * includes ledger deltas that have not been flushed into {@code product.stock} yet.
+     */
+    @Query("select p.id, p.name, p.sku, p.price, " +
+            "p.stock + coalesce((select sum(e.delta) from StockLedgerEntry e where e.productId = p.id), 0) " +
+            "from Product p where p.id in :ids")
+    List<Object[]> findStockSnapshots(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Atomically takes {@code quantity} units off the product's stock for an order if enough is
+     * available, adding their value to the product's ordered value. Returns the number of rows
+     * changed: 1 on success, 0 when the product is missing or short.
+     */
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :quantity, " +
+            "p.orderedValue = p.orderedValue + p.price * :quantity, p.version = p.version + 1 " +
+            "where p.id = :id and p.stock >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Gives units taken by {@link #decrementStock} back, removing their value again.
+     */
+    @Modifying
+    @Query("update Product p set p.stock = p.stock + :quantity, " +
+            "p.orderedValue = p.orderedValue - p.price * :quantity, p.version = p.version + 1 " +
+            "where p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Recomputes every product's ordered value from the order lines with a grouped aggregate.
+     * Ledger deltas that are still pending are folded in so the next flush lands on the right total.
+     * Lines are valued at the product's current price, the same price the incremental updates use.
+     */
+    @Modifying
+    @Query("update Product p set p.orderedValue = p.price * (" +
+            "coalesce((select sum(i.quantity) from OrderItem i join i.order o " +
+            "where i.product.id = p.id and o.status <> :excluded), 0) + " +
+            "coalesce((select sum(e.delta) from StockLedgerEntry e where e.productId = p.id), 0))")
+    int rebuildOrderedValues(@Param("excluded") OrderStatus excluded);
+
+    /**
+     * SKU and ordered value for every product that has one, including ledger deltas not yet flushed.
+     */
+    @Query("select p.sku, p.orderedValue - p.price * " +
+            "coalesce((select sum(e.delta) from StockLedgerEntry e where e.productId = p.id), 0) " +
+            "from Product p where p.orderedValue <> 0 " +
+            "or exists (select 1 from StockLedgerEntry e where e.productId = p.id)")
+    List<Object[]> findOrderedValuePerSku();
+}
@@ -0,0 +1,24 @@
+package org.inventory.management.repository;
+
+import org.inventory.management.entity.StockGrant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StockGrantRepository extends JpaRepository<StockGrant, Long> {
+
+    List<StockGrant> findByGrantedAtBefore(LocalDateTime cutoff);
+
+    /**
+     * Deletes the given grants and returns how many were still there, which is how a claim and a
+     * give-back of the same grant find out which of them won.
+     */
+    @Modifying
+    @Query("delete from StockGrant g where g.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
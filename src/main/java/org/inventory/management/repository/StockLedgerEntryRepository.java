@@ -0,0 +1,28 @@
+package org.inventory.management.repository;
+
+import org.inventory.management.entity.StockLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StockLedgerEntryRepository extends JpaRepository<StockLedgerEntry, Long> {
+
+    @Query("select p.id, p.stock + coalesce((select sum(e.delta) from StockLedgerEntry e where e.productId = p.id), 0) " +
+            "from Product p where p.id in :ids")
+    List<Object[]> findAvailableStock(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update StockLedgerEntry e set e.flushBatch = :batch where e.flushBatch is null")
+    int assignFlushBatch(@Param("batch") Long batch);
+
+    @Query("select e.productId, sum(e.delta) from StockLedgerEntry e where e.flushBatch = :batch group by e.productId")
+    List<Object[]> sumDeltasByProduct(@Param("batch") Long batch);
+
+    @Modifying
+    @Query("delete from StockLedgerEntry e where e.flushBatch = :batch")
+    int deleteFlushBatch(@Param("batch") Long batch);
+}
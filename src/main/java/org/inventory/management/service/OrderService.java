@@ -1,8 +1,15 @@
 package org.inventory.management.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
+import org.inventory.management.dto.BatchOrderResponseDTO;
+import org.inventory.management.dto.BulkStatusUpdateRequestDTO;
+import org.inventory.management.dto.BulkStatusUpdateResponseDTO;
+import org.inventory.management.dto.OrderPageResponseDTO;
 import org.inventory.management.dto.OrderRequestDTO;
 import org.inventory.management.dto.OrderResponseDTO;
 
@@ -10,7 +17,51 @@ public interface OrderService {
     
     OrderResponseDTO createOrder(OrderRequestDTO request);
 
+    /**
+     * Places many orders in grouped transactions that share product loading and one flush per group.
+     * An order that cannot be placed is reported in its result and does not affect the others.
+     */
+    BatchOrderResponseDTO createOrders(List<OrderRequestDTO> requests);
+
+    /**
+     * Same as {@link #createOrders(List)} with {@code groupSize} orders per transaction instead of the
+     * default group size.
+     */
+    BatchOrderResponseDTO createOrders(List<OrderRequestDTO> requests, int groupSize);
+
+    OrderResponseDTO getOrder(Long orderId);
+
+    /**
+     * Orders newest first, optionally filtered by status and an order date range ({@code from}
+     * inclusive, {@code to} exclusive). Every page is read with a bounded number of statements.
+     */
+    OrderPageResponseDTO getOrders(String status, LocalDateTime from, LocalDateTime to, int page, int size);
+
     void updateOrderStatus(Long orderId, String status);
-    
+
+    /**
+     * Moves the selected orders to a new status with set-based updates in chunked transactions.
+     * Only transitions allowed by {@link org.inventory.management.entity.enums.OrderStatus} are
+     * applied; every other selected order is reported as skipped.
+     */
+    BulkStatusUpdateResponseDTO updateOrderStatuses(BulkStatusUpdateRequestDTO request);
+
+    /**
+     * Cancels the given orders that are still PENDING because their reservation ran out, returning
+     * their stock. Returns how many were cancelled.
+     */
+    int expireReservations(Collection<Long> orderIds);
+
+    /**
+     * Value (current price x units) of the order lines per SKU. Lines of cancelled orders are not
+     * counted, and SKUs without any remaining value are left out.
+     */
     Map<String, BigDecimal> summarizeOrderValuePerProduct();
+
+    /**
+     * Recomputes the per-SKU order values from the order lines with a grouped aggregate, for use
+     * after orders were written outside {@link #createOrder} or {@link #updateOrderStatus}. Gives the
+     * same values the incremental updates maintain.
+     */
+    void rebuildOrderValueSummary();
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.inventory.management.service;
+
+import org.inventory.management.dto.ProductImportResultDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public interface ProductImportService {
+
+    enum Format { NDJSON, CSV }
+
+    /**
+     * Reads products row by row and inserts them in batches. Rows that fail to parse, fail validation
+     * or reuse an existing SKU are reported in the result and do not stop the import.
+     */
+    ProductImportResultDTO importProducts(Reader source, Format format) throws IOException;
+}
@@ -1,17 +1,28 @@
 package org.inventory.management.service;
 
+import org.inventory.management.dto.ProductResponseDTO;
 import org.inventory.management.entity.Product;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
     Product createProduct(Product product);
 
-    List<Product> getAllProducts();
+    List<ProductResponseDTO> getAllProducts();
+
+    List<ProductResponseDTO> getProductsAfter(Long afterId, int limit);
+
+    /**
+     * Visits every product in id order from a database cursor without holding the catalog in memory.
+     */
+    void forEachProduct(Consumer<ProductResponseDTO> action);
 
     Optional<Product> getProductById(Long id);
 
+    Optional<Product> getProductBySku(String sku);
+
     List<Product> getLowStockProducts(int threshold);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.inventory.management.service;
+
+import org.inventory.management.entity.Product;
+
+import java.util.Map;
+
+public interface StockAllocator {
+
+    /**
+     * Takes the requested quantity of every product or none of them, throwing
+     * {@link org.inventory.management.exception.InsufficientStockException} on a shortfall.
+     * Must run inside the transaction that records the order.
+     */
+    void reserve(Map<Long, Integer> quantities, Map<Long, Product> products);
+
+    void release(Map<Long, Integer> quantities);
+}
@@ -0,0 +1,153 @@
+package org.inventory.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.inventory.management.event.ProductsChangedEvent;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.service.ProductService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The full catalog ({@code GET /products}) as ready-to-send JSON bytes, optionally gzipped as well,
+ * with a strong ETag derived from the content. Any completed transaction that changes stock or
+ * product rows bumps the version and the next read rebuilds the snapshot once; concurrent readers
+ * wait for that build instead of querying in parallel. A build that overlaps an invalidation is
+ * served to its caller but not kept, so the snapshot never outlives a change it did not see.
+ */
+@Component
+public class CatalogSnapshot implements MeterBinder {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder builds = new LongAdder();
+
+    private volatile Snapshot current;
+
+    public CatalogSnapshot(ProductService productService,
+                           ObjectMapper objectMapper,
+                           @Value("${inventory.cache.catalog.gzip:true}") boolean gzip) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+    }
+
+    public Snapshot get() {
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.version() == version.get()) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = current;
+            long building = version.get();
+            if (snapshot != null && snapshot.version() == building) {
+                return snapshot;
+            }
+            snapshot = build(building);
+            if (version.get() == building) {
+                current = snapshot;
+            }
+            return snapshot;
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        invalidate();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("inventory.cache.catalog.builds", builds, LongAdder::sum)
+                .description("Times the serialized catalog snapshot was rebuilt after a change")
+                .register(registry);
+    }
+
+    private Snapshot build(long snapshotVersion) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(productService.getAllProducts());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the catalog", e);
+        }
+        builds.increment();
+        return new Snapshot(snapshotVersion, json, gzip ? gzip(json) : null, etag(json));
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream compressor = new GZIPOutputStream(out, 1 << 16)) {
+            compressor.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One serialized catalog. {@code gzipped} is null when pre-compression is off. The gzipped bytes
+     * are a different representation, so they are sent under {@link #gzipEtag()}.
+     */
+    public record Snapshot(long version, byte[] json, byte[] gzipped, String etag) {
+
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        /**
+         * Whether an {@code If-None-Match} header names this snapshot in either encoding. Uses the
+         * weak comparison the header calls for, so a {@code W/} prefix added by a proxy still matches.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag) || candidate.equals(gzipEtag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
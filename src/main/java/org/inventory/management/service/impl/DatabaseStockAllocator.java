@@ -0,0 +1,46 @@
+package org.inventory.management.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.inventory.management.entity.Product;
+import org.inventory.management.exception.InsufficientStockException;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.service.StockAllocator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.stock.ledger.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseStockAllocator implements StockAllocator {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public void reserve(Map<Long, Integer> quantities, Map<Long, Product> products) {
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product.getStock() < quantity) {
+                throw new InsufficientStockException("Not enough stock for product: " + product.getName());
+            }
+        });
+
+        // Decrement in id order so concurrent multi-item orders lock product rows consistently.
+        Map<Long, Integer> reserved = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            if (productRepository.decrementStock(entry.getKey(), entry.getValue()) == 0) {
+                reserved.forEach(productRepository::incrementStock);
+                throw new InsufficientStockException(
+                        "Not enough stock for product: " + products.get(entry.getKey()).getName());
+            }
+            reserved.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        new TreeMap<>(quantities).forEach(productRepository::incrementStock);
+    }
+}
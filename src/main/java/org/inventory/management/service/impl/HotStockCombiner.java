@@ -0,0 +1,333 @@
+package org.inventory.management.service.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.inventory.management.entity.Product;
+import org.inventory.management.entity.StockGrant;
+import org.inventory.management.exception.InsufficientStockException;
+import org.inventory.management.exception.ResourceNotFoundException;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.repository.StockGrantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Flat combining for products that many orders reserve at once. A product turns hot when
+ * {@code hot-threshold} orders for it are in flight together and stays hot for {@code hot-ttl-ms}
+ * after the last batch that combined more than one reservation. Reservations for a hot product are
+ * queued; whichever caller holds the product's combining lock waits one short window, then settles
+ * every queued reservation with one locked read and one aggregated decrement in its own transaction.
+ * Reservations are granted in arrival order while stock lasts, so each caller still gets its own
+ * answer, and the product row is locked once per batch instead of once per order.
+ * <p>
+ * Granted stock is committed before the order is written, together with a {@link StockGrant} row
+ * per reservation. The order transaction claims its grants through {@link #claim}, deleting the rows
+ * as part of its own commit; if the order fails the caller hands them back through {@link #release}.
+ * Grants still unclaimed after {@code grant-timeout-ms}, because the process died between the two
+ * commits or the give-back failed, are returned to stock by {@link #releaseAbandonedGrants}. Claim
+ * and give-back both delete the row first, so only one of them ever counts a grant.
+ */
+@Component
+@ConditionalOnExpression("${inventory.stock.combining.enabled:false} and !${inventory.stock.ledger.enabled:false}")
+public class HotStockCombiner implements MeterBinder {
+
+    private final ProductRepository productRepository;
+    private final StockGrantRepository stockGrantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int hotThreshold;
+    private final long hotTtlNanos;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long grantTimeoutMillis;
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder combinedReservations = new LongAdder();
+    private final LongAdder abandonedGrants = new LongAdder();
+
+    public HotStockCombiner(ProductRepository productRepository,
+                            StockGrantRepository stockGrantRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${inventory.stock.combining.hot-threshold:4}") int hotThreshold,
+                            @Value("${inventory.stock.combining.hot-ttl-ms:1000}") long hotTtlMillis,
+                            @Value("${inventory.stock.combining.window-us:200}") long windowMicros,
+                            @Value("${inventory.stock.combining.max-batch-size:1000}") int maxBatchSize,
+                            @Value("${inventory.stock.combining.grant-timeout-ms:60000}") long grantTimeoutMillis) {
+        this.productRepository = productRepository;
+        this.stockGrantRepository = stockGrantRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.hotThreshold = hotThreshold;
+        this.hotTtlNanos = TimeUnit.MILLISECONDS.toNanos(hotTtlMillis);
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = maxBatchSize;
+        this.grantTimeoutMillis = grantTimeoutMillis;
+    }
+
+    /**
+     * Counts an order for the given products as in flight until the admission is closed, and
+     * reports which of them are hot right now.
+     */
+    public Admission admit(Set<Long> productIds) {
+        long now = System.nanoTime();
+        Set<Long> hot = new HashSet<>();
+        for (Long productId : productIds) {
+            slots.compute(productId, (id, slot) -> {
+                Slot current = slot == null ? new Slot(now) : slot;
+                current.inFlight++;
+                if (current.inFlight >= hotThreshold) {
+                    current.hotUntil = now + hotTtlNanos;
+                }
+                if (current.hotUntil - now > 0) {
+                    hot.add(id);
+                }
+                return current;
+            });
+        }
+        return new Admission(productIds, hot);
+    }
+
+    /**
+     * Takes every requested quantity or none of them, committing each product's share with the rest
+     * of its batch, and returns the grants to {@link #claim} in the order's transaction. Products
+     * must belong to an open {@link Admission}.
+     */
+    public List<Long> reserve(Map<Long, Integer> quantities) {
+        List<Long> grantIds = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            Request request;
+            try {
+                request = reserve(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                release(grantIds);
+                throw e;
+            }
+            if (request.grantId == null) {
+                release(grantIds);
+                throw new InsufficientStockException("Not enough stock for product: " + request.productName);
+            }
+            grantIds.add(request.grantId);
+        }
+        return grantIds;
+    }
+
+    /**
+     * Deletes the grants inside the caller's transaction, so they are consumed exactly when the order
+     * commits. Fails if any of them has already been given back.
+     */
+    public void claim(List<Long> grantIds) {
+        if (!grantIds.isEmpty() && stockGrantRepository.deleteByIds(grantIds) != grantIds.size()) {
+            throw new IllegalStateException("Reserved stock was released before the order was placed");
+        }
+    }
+
+    /**
+     * Gives the stock of grants that no order will claim back, skipping any already claimed or
+     * given back.
+     */
+    public void release(List<Long> grantIds) {
+        if (!grantIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> giveBack(stockGrantRepository.findAllById(grantIds)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.stock.combining.grant-sweep-interval-ms:10000}")
+    public void releaseAbandonedGrants() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(grantTimeoutMillis));
+        transactionTemplate.executeWithoutResult(status ->
+                abandonedGrants.add(giveBack(stockGrantRepository.findByGrantedAtBefore(cutoff))));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("inventory.stock.combining.batches", batches, LongAdder::sum)
+                .description("Aggregated decrements applied to hot products")
+                .register(registry);
+        FunctionCounter.builder("inventory.stock.combining.reservations", combinedReservations, LongAdder::sum)
+                .description("Reservations settled through those decrements")
+                .register(registry);
+        FunctionCounter.builder("inventory.stock.combining.abandoned.grants", abandonedGrants, LongAdder::sum)
+                .description("Grants no order claimed in time, whose stock was given back")
+                .register(registry);
+    }
+
+    private int giveBack(Collection<StockGrant> grants) {
+        int released = 0;
+        // Product order keeps the row locks taken here in the same order as the decrements'.
+        for (StockGrant grant : grants.stream().sorted(Comparator.comparing(StockGrant::getProductId)).toList()) {
+            if (stockGrantRepository.deleteByIds(List.of(grant.getId())) == 1) {
+                productRepository.incrementStock(grant.getProductId(), grant.getQuantity());
+                released++;
+            }
+        }
+        return released;
+    }
+
+    private Request reserve(Long productId, int quantity) {
+        Slot slot = slots.get(productId);
+        if (slot == null) {
+            throw new IllegalStateException("Product is not admitted: " + productId);
+        }
+        Request request = new Request(quantity);
+        slot.queue.add(request);
+
+        boolean interrupted = false;
+        while (!request.result.isDone()) {
+            if (slot.lock.tryLock()) {
+                try {
+                    if (!request.result.isDone()) {
+                        combine(productId, slot);
+                    }
+                } finally {
+                    slot.lock.unlock();
+                }
+            } else {
+                // A queued reservation may still be granted, so it is seen through even if interrupted.
+                try {
+                    request.result.get(windowNanos * 4 + 1, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | TimeoutException e) {
+                    // Loop: done now, or the combiner may have moved on without this request.
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            request.result.join();
+            return request;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void combine(Long productId, Slot slot) {
+        LockSupport.parkNanos(windowNanos);
+
+        List<Request> batch = new ArrayList<>();
+        Request next;
+        while (batch.size() < maxBatchSize && (next = slot.queue.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(productId, batch));
+        } catch (RuntimeException e) {
+            batch.forEach(request -> request.result.completeExceptionally(e));
+            return;
+        }
+        batches.increment();
+        combinedReservations.add(batch.size());
+        if (batch.size() > 1) {
+            slot.hotUntil = System.nanoTime() + hotTtlNanos;
+        }
+        batch.forEach(request -> request.result.complete(request.grantId != null));
+    }
+
+    private void apply(Long productId, List<Request> batch) {
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
+        LocalDateTime now = LocalDateTime.now();
+        int available = product.getStock();
+        int total = 0;
+        for (Request request : batch) {
+            request.productName = product.getName();
+            if (request.quantity <= available - total) {
+                total += request.quantity;
+                request.grantId = stockGrantRepository.save(StockGrant.builder()
+                        .productId(productId)
+                        .quantity(request.quantity)
+                        .grantedAt(now)
+                        .build()).getId();
+            }
+        }
+        if (total > 0) {
+            productRepository.decrementStock(productId, total);
+        }
+    }
+
+    private void leave(Set<Long> productIds) {
+        long now = System.nanoTime();
+        for (Long productId : productIds) {
+            slots.computeIfPresent(productId, (id, slot) -> {
+                slot.inFlight--;
+                return slot.inFlight == 0 && slot.hotUntil - now <= 0 ? null : slot;
+            });
+        }
+    }
+
+    public final class Admission implements AutoCloseable {
+
+        private final Set<Long> productIds;
+        private final Set<Long> hotProductIds;
+
+        private Admission(Set<Long> productIds, Set<Long> hotProductIds) {
+            this.productIds = Set.copyOf(productIds);
+            this.hotProductIds = hotProductIds;
+        }
+
+        public Set<Long> hotProductIds() {
+            return hotProductIds;
+        }
+
+        @Override
+        public void close() {
+            leave(productIds);
+        }
+    }
+
+    private static final class Slot {
+        // inFlight only changes inside the map's compute functions, which serialize per key.
+        private int inFlight;
+        private volatile long hotUntil;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+
+        private Slot(long now) {
+            this.hotUntil = now;
+        }
+    }
+
+    private static final class Request {
+        private final int quantity;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private Long grantId;
+        private String productName;
+
+        private Request(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
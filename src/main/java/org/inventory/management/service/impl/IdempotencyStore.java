@@ -0,0 +1,166 @@
+package org.inventory.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.inventory.management.entity.IdempotencyRecord;
+import org.inventory.management.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response produced for each {@code Idempotency-Key} so a retried request gets the
+ * original response instead of running again. Responses are kept as JSON bytes in a size-bounded
+ * map that expires entries after {@code inventory.idempotency.ttl-ms}; concurrent duplicates wait
+ * for the first request rather than running alongside it. Failed requests are forgotten so they can
+ * be retried. With {@code inventory.idempotency.persistent=true} the response is also written to
+ * {@link IdempotencyRecord} in the request's own transaction, which makes keys survive restarts and
+ * hold across instances.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> entries;
+    private final Duration ttl;
+    private final boolean persistent;
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${inventory.idempotency.max-entries:100000}") long maxEntries,
+                            @Value("${inventory.idempotency.ttl-ms:86400000}") long ttlMillis,
+                            @Value("${inventory.idempotency.persistent:false}") boolean persistent) {
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.entries = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).build();
+        this.persistent = persistent;
+    }
+
+    public <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(request);
+
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            return replay(existing, fingerprint, responseType);
+        }
+
+        try {
+            byte[] response = persistent ? runRecorded(key, fingerprint, action) : write(action.get());
+            entry.response().complete(response);
+            return read(response, responseType);
+        } catch (RuntimeException e) {
+            entries.asMap().remove(key, entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredRecords() {
+        if (persistent) {
+            recordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        }
+    }
+
+    private byte[] runRecorded(String key, String fingerprint, Supplier<?> action) {
+        Optional<IdempotencyRecord> stored = recordRepository.findById(key);
+        if (stored.isPresent()) {
+            return recorded(stored.get(), fingerprint);
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                byte[] response = write(action.get());
+                recordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .key(key)
+                        .fingerprint(fingerprint)
+                        .response(response)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed this key first; its work stands and ours was rolled back.
+            return recorded(recordRepository.findById(key).orElseThrow(() -> e), fingerprint);
+        }
+    }
+
+    private byte[] recorded(IdempotencyRecord record, String fingerprint) {
+        requireSameRequest(record.getFingerprint(), fingerprint);
+        return record.getResponse();
+    }
+
+    private <T> T replay(Entry existing, String fingerprint, Class<T> responseType) {
+        requireSameRequest(existing.fingerprint(), fingerprint);
+        try {
+            return read(existing.response().join(), responseType);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void requireSameRequest(String storedFingerprint, String fingerprint) {
+        if (!storedFingerprint.equals(fingerprint)) {
+            throw new IllegalStateException("Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] write(Object response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(byte[] response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<byte[]> response) {
+    }
+}
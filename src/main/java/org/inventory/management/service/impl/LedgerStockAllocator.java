@@ -0,0 +1,153 @@
+package org.inventory.management.service.impl;
+
+import org.inventory.management.entity.Product;
+import org.inventory.management.entity.StockLedgerEntry;
+import org.inventory.management.event.ProductsChangedEvent;
+import org.inventory.management.exception.InsufficientStockException;
+import org.inventory.management.repository.StockLedgerEntryRepository;
+import org.inventory.management.service.StockAllocator;
+import org.inventory.management.support.StripedStockLedger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Ledger mode: reservations are decided against in-memory counters and recorded as
+ * {@link StockLedgerEntry} rows in the order's transaction, so orders never update product rows.
+ * A scheduled flush folds the accumulated entries into {@code product.stock} in one batch; the same
+ * flush runs at startup to replay anything a crash left behind.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.stock.ledger.enabled", havingValue = "true")
+public class LedgerStockAllocator implements StockAllocator {
+
+    private static final String APPLY_DELTA_SQL =
+            "update product set stock = stock + ?, ordered_value = ordered_value - price * ?, " +
+                    "version = version + 1 where id = ?";
+
+    private final StockLedgerEntryRepository entryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StripedStockLedger ledger;
+    private final AtomicLong flushBatches = new AtomicLong(System.currentTimeMillis());
+
+    public LedgerStockAllocator(StockLedgerEntryRepository entryRepository,
+                                JdbcTemplate jdbcTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${inventory.stock.ledger.stripes:64}") int stripes) {
+        this.entryRepository = entryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.ledger = new StripedStockLedger(stripes);
+    }
+
+    @Override
+    public void reserve(Map<Long, Integer> quantities, Map<Long, Product> products) {
+        requireTransaction();
+        loadMissing(quantities.keySet());
+
+        ledger.tryReserve(quantities).ifPresent(productId -> {
+            throw new InsufficientStockException("Not enough stock for product: " + products.get(productId).getName());
+        });
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    ledger.release(quantities);
+                } else if (status == STATUS_UNKNOWN) {
+                    quantities.keySet().forEach(ledger::evict);
+                }
+            }
+        });
+
+        entryRepository.saveAll(toEntries(quantities, -1));
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        requireTransaction();
+        entryRepository.saveAll(toEntries(quantities, 1));
+
+        // Released units only become reservable once the entries recording them are durable.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    ledger.release(quantities);
+                } else if (status == STATUS_UNKNOWN) {
+                    quantities.keySet().forEach(ledger::evict);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.stock.ledger.flush-interval-ms:200}")
+    @Transactional
+    public void flush() {
+        long batch = flushBatches.incrementAndGet();
+        if (entryRepository.assignFlushBatch(batch) == 0) {
+            return;
+        }
+
+        List<Object[]> deltas = entryRepository.sumDeltasByProduct(batch);
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, deltas, deltas.size(), (ps, row) -> {
+            ps.setLong(1, ((Number) row[1]).longValue());
+            ps.setLong(2, ((Number) row[1]).longValue());
+            ps.setLong(3, ((Number) row[0]).longValue());
+        });
+        entryRepository.deleteFlushBatch(batch);
+        eventPublisher.publishEvent(new ProductsChangedEvent(deltas.stream()
+                .map(row -> ((Number) row[0]).longValue())
+                .collect(Collectors.toSet())));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void replayPendingEntries() {
+        flush();
+    }
+
+    private void loadMissing(Set<Long> productIds) {
+        Set<Long> missing = productIds.stream()
+                .filter(productId -> !ledger.isLoaded(productId))
+                .collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        entryRepository.findAvailableStock(missing)
+                .forEach(row -> ledger.load(((Number) row[0]).longValue(), ((Number) row[1]).intValue()));
+    }
+
+    private List<StockLedgerEntry> toEntries(Map<Long, Integer> quantities, int sign) {
+        return quantities.entrySet().stream()
+                .map(entry -> StockLedgerEntry.builder()
+                        .productId(entry.getKey())
+                        .delta(sign * entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Ledger stock changes must run inside a transaction");
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.inventory.management.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.inventory.management.entity.Product;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.mapper.ProductMapper;
+import org.inventory.management.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Watch mode for low-stock queries: keeps every product whose available stock is below
+ * {@code inventory.low-stock.watch.max-threshold} in a set ordered by stock, so any threshold up
+ * to that bound is answered from memory in O(result). Stock change events mark products dirty and
+ * a single background thread re-reads them in batches, then pushes crossings to SSE subscribers.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.low-stock.watch.enabled", havingValue = "true")
+public class LowStockWatcher {
+
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    private static final Comparator<Entry> BY_STOCK_THEN_ID =
+            Comparator.comparingInt(Entry::stock).thenComparingLong(Entry::id);
+
+    private final ProductRepository productRepository;
+    private final int maxThreshold;
+    private final long emitterTimeoutMillis;
+
+    private final Map<Long, Entry> tracked = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> byStock = new ConcurrentSkipListSet<>(BY_STOCK_THEN_ID);
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "low-stock-watcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LowStockWatcher(ProductRepository productRepository,
+                           @Value("${inventory.low-stock.watch.max-threshold:20}") int maxThreshold,
+                           @Value("${inventory.low-stock.watch.sse-timeout-ms:1800000}") long emitterTimeoutMillis) {
+        this.productRepository = productRepository;
+        this.maxThreshold = maxThreshold;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+    }
+
+    public boolean supports(int threshold) {
+        return threshold <= maxThreshold;
+    }
+
+    public List<Product> getLowStockProducts(int threshold) {
+        if (!supports(threshold)) {
+            throw new IllegalArgumentException("Threshold exceeds watched maximum of " + maxThreshold);
+        }
+        return byStock.headSet(new Entry(Long.MIN_VALUE, null, null, null, threshold)).stream()
+                .map(Entry::toProduct)
+                .collect(Collectors.toList());
+    }
+
+    public SseEmitter subscribe(int threshold) {
+        if (!supports(threshold)) {
+            throw new IllegalArgumentException("Threshold exceeds watched maximum of " + maxThreshold);
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(threshold, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        subscriber.send("snapshot", getLowStockProducts(threshold).stream()
+                .map(ProductMapper::toDTO)
+                .collect(Collectors.toList()));
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInitialState() {
+        refresher.execute(() -> productRepository.findByStockLessThan(maxThreshold)
+                .forEach(product -> apply(Entry.of(product.getId(), product.getName(), product.getSku(),
+                        product.getPrice(), product.getStock()), false)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        dirty.addAll(event.getDeltas().keySet());
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.execute(this::drainDirty);
+        }
+    }
+
+    /**
+     * Re-reads the given products and updates the watch set; runs on the caller's thread.
+     */
+    public void refresh(Collection<Long> productIds) {
+        List<Long> ids = new ArrayList<>(productIds);
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size()));
+            Set<Long> missing = new HashSet<>(chunk);
+            for (Object[] row : productRepository.findStockSnapshots(chunk)) {
+                Entry entry = Entry.of((Long) row[0], (String) row[1], (String) row[2],
+                        (BigDecimal) row[3], ((Number) row[4]).intValue());
+                missing.remove(entry.id());
+                apply(entry, true);
+            }
+            missing.forEach(this::untrack);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    private void drainDirty() {
+        refreshScheduled.set(false);
+        List<Long> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+        if (!ids.isEmpty()) {
+            refresh(ids);
+        }
+    }
+
+    private void apply(Entry entry, boolean notify) {
+        Entry previous = entry.stock() < maxThreshold ? tracked.put(entry.id(), entry) : tracked.remove(entry.id());
+        if (previous != null) {
+            byStock.remove(previous);
+        }
+        if (entry.stock() < maxThreshold) {
+            byStock.add(entry);
+        }
+        if (notify) {
+            notifySubscribers(previous, entry);
+        }
+    }
+
+    private void untrack(Long productId) {
+        Entry previous = tracked.remove(productId);
+        if (previous != null) {
+            byStock.remove(previous);
+        }
+    }
+
+    private void notifySubscribers(Entry previous, Entry current) {
+        int previousStock = previous == null ? Integer.MAX_VALUE : previous.stock();
+        for (Subscriber subscriber : subscribers) {
+            boolean wasLow = previousStock < subscriber.threshold();
+            boolean isLow = current.stock() < subscriber.threshold();
+            if (isLow && previousStock != current.stock()) {
+                subscriber.send("low-stock", ProductMapper.toDTO(current.toProduct()));
+            } else if (wasLow && !isLow) {
+                subscriber.send("restocked", ProductMapper.toDTO(current.toProduct()));
+            }
+        }
+    }
+
+    private record Entry(long id, String name, String sku, BigDecimal price, int stock) {
+
+        static Entry of(Long id, String name, String sku, BigDecimal price, Integer stock) {
+            return new Entry(id, name, sku, price, stock == null ? 0 : stock);
+        }
+
+        Product toProduct() {
+            return Product.builder()
+                    .id(id)
+                    .name(name)
+                    .sku(sku)
+                    .price(price)
+                    .stock(stock)
+                    .build();
+        }
+    }
+
+    private record Subscriber(int threshold, SseEmitter emitter) {
+
+        void send(String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.inventory.management.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.inventory.management.dto.BatchOrderResponseDTO;
+import org.inventory.management.dto.OrderRequestDTO;
+import org.inventory.management.dto.OrderResponseDTO;
+import org.inventory.management.dto.OrderTicketDTO;
+import org.inventory.management.exception.ServiceBusyException;
+import org.inventory.management.service.OrderService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Async intake for {@code POST /orders}: requests go onto a bounded queue and the caller gets a
+ * ticket straight away. Workers take whatever has queued up, up to {@code max-group-size}, and place
+ * it through {@link OrderService#createOrders(List, int)} as one group, so each transaction commits
+ * up to {@code max-group-size} orders. Up to {@code max-tickets} tickets are kept for
+ * {@code ticket-retention-ms}; workers start once the bean is fully built.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.orders.async.enabled", havingValue = "true")
+public class OrderIntakeQueue implements MeterBinder {
+
+    private static final String PENDING = "PENDING";
+
+    private final OrderService orderService;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, OrderTicketDTO> tickets;
+    private final int maxGroupSize;
+    private final int workerCount;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public OrderIntakeQueue(OrderService orderService,
+                            @Value("${inventory.orders.async.capacity:10000}") int capacity,
+                            @Value("${inventory.orders.async.workers:2}") int workerCount,
+                            @Value("${inventory.orders.async.max-group-size:500}") int maxGroupSize,
+                            @Value("${inventory.orders.async.max-tickets:100000}") long maxTickets,
+                            @Value("${inventory.orders.async.ticket-retention-ms:600000}") long ticketRetentionMillis) {
+        if (maxGroupSize < 1 || maxGroupSize > OrderServiceImpl.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("max-group-size must be between 1 and " + OrderServiceImpl.MAX_BATCH_SIZE);
+        }
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(maxTickets)
+                .expireAfterWrite(Duration.ofMillis(ticketRetentionMillis))
+                .build();
+        this.maxGroupSize = maxGroupSize;
+        this.workerCount = workerCount;
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drain, "order-intake-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    public OrderTicketDTO submit(OrderRequestDTO request) {
+        if (!running) {
+            throw new ServiceBusyException("Order intake is shutting down");
+        }
+        OrderTicketDTO ticket = new OrderTicketDTO(UUID.randomUUID().toString(), PENDING, null, null);
+        tickets.put(ticket.getTicketId(), ticket);
+        if (!queue.offer(new Submission(ticket.getTicketId(), request))) {
+            tickets.invalidate(ticket.getTicketId());
+            throw new ServiceBusyException("Order queue is full, please retry");
+        }
+        return ticket;
+    }
+
+    public Optional<OrderTicketDTO> getTicket(String ticketId) {
+        return Optional.ofNullable(tickets.getIfPresent(ticketId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("inventory.orders.intake.queued", queue, BlockingQueue::size)
+                .description("Orders accepted but not yet placed")
+                .register(registry);
+    }
+
+    private void drain() {
+        List<Submission> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, maxGroupSize - 1);
+                place(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void place(List<Submission> group) {
+        try {
+            BatchOrderResponseDTO response = orderService.createOrders(
+                    group.stream().map(Submission::request).toList(), maxGroupSize);
+            for (BatchOrderResponseDTO.Result result : response.getResults()) {
+                resolve(group.get(result.getIndex()), result.getStatus(), result.getOrder(), result.getError());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to place {} queued orders", group.size(), e);
+            group.forEach(submission -> resolve(submission, "FAILED", null, "Order could not be placed"));
+        }
+    }
+
+    private void resolve(Submission submission, String status, OrderResponseDTO order, String error) {
+        tickets.put(submission.ticketId(), new OrderTicketDTO(submission.ticketId(), status, order, error));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private record Submission(String ticketId, OrderRequestDTO request) {
+    }
+}
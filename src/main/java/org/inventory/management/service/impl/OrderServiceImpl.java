@@ -1,93 +1,430 @@
 package org.inventory.management.service.impl;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.inventory.management.dto.BatchOrderResponseDTO;
+import org.inventory.management.dto.BulkStatusUpdateRequestDTO;
+import org.inventory.management.dto.BulkStatusUpdateResponseDTO;
+import org.inventory.management.dto.OrderPageResponseDTO;
 import org.inventory.management.dto.OrderRequestDTO;
 import org.inventory.management.dto.OrderResponseDTO;
 import org.inventory.management.entity.*;
 import org.inventory.management.entity.enums.OrderStatus;
+import org.inventory.management.event.ProductsChangedEvent;
+import org.inventory.management.event.StockChangedEvent;
 import org.inventory.management.exception.InsufficientStockException;
 import org.inventory.management.exception.ResourceNotFoundException;
 import org.inventory.management.mapper.OrderMapper;
 import org.inventory.management.repository.OrderRepository;
 import org.inventory.management.repository.ProductRepository;
 import org.inventory.management.service.OrderService;
+import org.inventory.management.service.StockAllocator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("inventory.service")
 public class OrderServiceImpl implements OrderService {
 
+    static final int MAX_BATCH_SIZE = 10_000;
+    private static final int BATCH_GROUP_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int STATUS_CHUNK_SIZE = 1_000;
+    private static final int MAX_REPORTED_SKIPS = 1_000;
+
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
+    private final StockAllocator stockAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<HotStockCombiner> hotStockCombiner;
+    private final ObjectProvider<ReservationExpiry> reservationExpiry;
 
     @Override
-    @Transactional
     public OrderResponseDTO createOrder(OrderRequestDTO request) {
-        List<OrderItem> items = new ArrayList<>();
+        HotStockCombiner combiner = hotStockCombiner.getIfAvailable();
+        // Combined stock commits on its own, so it is only used when this call owns the transaction.
+        if (combiner == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> placeOrder(request, loadProducts(productIds(request))));
+        }
 
-        for (OrderRequestDTO.Item itemDTO : request.getItems()) {
-            Product product = productRepository.findById(itemDTO.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + itemDTO.getProductId()));
+        Set<Long> ids = productIds(request);
+        try (HotStockCombiner.Admission admission = combiner.admit(ids)) {
+            if (admission.hotProductIds().isEmpty()) {
+                return transactionTemplate.execute(status -> placeOrder(request, loadProducts(ids)));
+            }
+
+            Map<Long, Integer> combined = new TreeMap<>(aggregateQuantities(request.getItems()));
+            combined.keySet().retainAll(admission.hotProductIds());
 
-            if (product.getStock() < itemDTO.getQuantity()) {
-                throw new InsufficientStockException("Not enough stock for product: " + product.getName());
+            List<Long> grants = combiner.reserve(combined);
+            try {
+                return transactionTemplate.execute(status -> {
+                    combiner.claim(grants);
+                    return placeOrder(request, loadProducts(ids), combined.keySet());
+                });
+            } catch (RuntimeException e) {
+                combiner.release(grants);
+                throw e;
             }
+        }
+    }
+
+    @Override
+    public BatchOrderResponseDTO createOrders(List<OrderRequestDTO> requests) {
+        return createOrders(requests, BATCH_GROUP_SIZE);
+    }
+
+    @Override
+    public BatchOrderResponseDTO createOrders(List<OrderRequestDTO> requests, int groupSize) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch can hold at most " + MAX_BATCH_SIZE + " orders");
+        }
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("Group size must be positive");
+        }
+
+        List<BatchOrderResponseDTO.Result> results = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += groupSize) {
+            results.addAll(placeGroup(requests.subList(from, Math.min(from + groupSize, requests.size())), from));
+        }
+
+        int created = (int) results.stream().filter(result -> result.getOrder() != null).count();
+        return new BatchOrderResponseDTO(created, results.size() - created, results);
+    }
+
+    private List<BatchOrderResponseDTO.Result> placeGroup(List<OrderRequestDTO> group, int offset) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Set<Long> ids = new LinkedHashSet<>();
+                group.forEach(request -> ids.addAll(productIds(request)));
+                Map<Long, Product> products = loadProducts(ids);
 
-            product.setStock(product.getStock() - itemDTO.getQuantity());
-            productRepository.save(product);
+                List<BatchOrderResponseDTO.Result> results = new ArrayList<>(group.size());
+                for (int i = 0; i < group.size(); i++) {
+                    results.add(tryPlaceOrder(offset + i, group.get(i), products));
+                }
+                orderRepository.flush();
+                return results;
+            });
+        } catch (RuntimeException e) {
+            // The group failed as a whole, e.g. at flush; retry its orders one transaction each.
+            List<BatchOrderResponseDTO.Result> results = new ArrayList<>(group.size());
+            for (int i = 0; i < group.size(); i++) {
+                int index = offset + i;
+                OrderRequestDTO request = group.get(i);
+                try {
+                    results.add(transactionTemplate.execute(
+                            status -> tryPlaceOrder(index, request, loadProducts(productIds(request)))));
+                } catch (RuntimeException orderFailure) {
+                    results.add(BatchOrderResponseDTO.Result.rejected(index, "Order could not be placed"));
+                }
+            }
+            return results;
+        }
+    }
 
+    private BatchOrderResponseDTO.Result tryPlaceOrder(int index, OrderRequestDTO request, Map<Long, Product> products) {
+        try {
+            return BatchOrderResponseDTO.Result.created(index, placeOrder(request, products));
+        } catch (ResourceNotFoundException | InsufficientStockException | IllegalArgumentException e) {
+            return BatchOrderResponseDTO.Result.rejected(index, e.getMessage());
+        }
+    }
+
+    private OrderResponseDTO placeOrder(OrderRequestDTO request, Map<Long, Product> products) {
+        return placeOrder(request, products, Set.of());
+    }
+
+    /**
+     * Records an order, reserving stock for every product except those in {@code reserved}, whose
+     * stock the caller has already taken.
+     */
+    private OrderResponseDTO placeOrder(OrderRequestDTO request, Map<Long, Product> products, Set<Long> reserved) {
+        Map<Long, Integer> quantities = aggregateQuantities(request.getItems());
+        requireProducts(quantities, products);
+
+        Map<Long, Integer> toReserve = new LinkedHashMap<>(quantities);
+        toReserve.keySet().removeAll(reserved);
+        if (!toReserve.isEmpty()) {
+            stockAllocator.reserve(toReserve, products);
+        }
+
+        List<OrderItem> items = new ArrayList<>();
+        for (OrderRequestDTO.Item itemDTO : request.getItems()) {
             OrderItem orderItem = OrderItem.builder()
-                    .product(product)
+                    .product(products.get(itemDTO.getProductId()))
                     .quantity(itemDTO.getQuantity())
                     .build();
 
             items.add(orderItem);
         }
 
+        LocalDateTime now = LocalDateTime.now();
+        ReservationExpiry expiry = reservationExpiry.getIfAvailable();
         Order order = Order.builder()
-                .orderDate(LocalDateTime.now())
+                .orderDate(now)
                 .status(OrderStatus.PENDING)
+                .reservationExpiresAt(expiry == null ? null : expiry.deadlineFrom(now))
                 .items(items)
                 .build();
 
         items.forEach(item -> item.setOrder(order));
 
         Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new StockChangedEvent(savedOrder.getId(), negate(quantities)));
         return OrderMapper.toDTO(savedOrder);
     }
 
+    private void requireProducts(Map<Long, Integer> quantities, Map<Long, Product> products) {
+        quantities.keySet().stream()
+                .filter(id -> !products.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new ResourceNotFoundException("Product not found with ID: " + id);
+                });
+    }
+
+    private Map<Long, Integer> aggregateQuantities(List<OrderRequestDTO.Item> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Items list cannot be null");
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        items.forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        return quantities;
+    }
+
+    private Map<Long, Integer> negate(Map<Long, Integer> quantities) {
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) -> deltas.put(productId, -quantity));
+        return deltas;
+    }
+
+    private Set<Long> productIds(OrderRequestDTO request) {
+        if (request.getItems() == null) {
+            return Set.of();
+        }
+        return request.getItems().stream()
+                .map(OrderRequestDTO.Item::getProductId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private Map<Long, Product> loadProducts(Set<Long> ids) {
+        return productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
     @Override
-    @Transactional
-    public void updateOrderStatus(Long orderId, String status) {
-        Order order = orderRepository.findById(orderId)
+    @Transactional(readOnly = true)
+    public OrderResponseDTO getOrder(Long orderId) {
+        return orderRepository.findWithItemsById(orderId)
+                .map(OrderMapper::toDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageResponseDTO getOrders(String status, LocalDateTime from, LocalDateTime to, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be non-negative and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        OrderStatus statusFilter = status == null ? null : parseStatus(status);
 
+        Page<Long> ids = orderRepository.findIds(statusFilter, from, to, PageRequest.of(page, size));
+        Map<Long, Order> orders = ids.isEmpty() ? Map.of() : orderRepository.findWithItemsByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        List<OrderResponseDTO> items = ids.getContent().stream()
+                .map(orders::get)
+                .map(OrderMapper::toDTO)
+                .collect(Collectors.toList());
+        return new OrderPageResponseDTO(items, page, size, ids.getTotalElements(), ids.getTotalPages());
+    }
+
+    private OrderStatus parseStatus(String status) {
         try {
-            OrderStatus newStatus = OrderStatus.valueOf(status.toUpperCase());
-            order.setStatus(newStatus);
-            orderRepository.save(order);
+            return OrderStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid order status: " + status);
         }
     }
 
+    @Override
+    @Transactional
+    public void updateOrderStatus(Long orderId, String status) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
+
+        OrderStatus newStatus = parseStatus(status);
+
+        OrderStatus previousStatus = order.getStatus();
+        if (newStatus == previousStatus) {
+            return;
+        }
+        if (!previousStatus.canTransitionTo(newStatus)) {
+            throw new IllegalStateException(transitionError(previousStatus, newStatus));
+        }
+        order.setStatus(newStatus);
+        orderRepository.save(order);
+
+        if (newStatus == OrderStatus.CANCELLED) {
+            releaseStock(quantities(order));
+        }
+    }
+
+    @Override
+    public BulkStatusUpdateResponseDTO updateOrderStatuses(BulkStatusUpdateRequestDTO request) {
+        OrderStatus target = parseStatus(request.getStatus());
+        boolean byCriteria = request.getCurrentStatus() != null || request.getFrom() != null || request.getTo() != null;
+        if ((request.getIds() == null) != byCriteria) {
+            throw new IllegalArgumentException("Select orders either by ids or by current status and date range");
+        }
+
+        if (request.getIds() != null) {
+            if (request.getIds().size() > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("A status update can name at most " + MAX_BATCH_SIZE + " orders");
+            }
+            return transition(request.getIds().stream().distinct().toList(), target);
+        }
+
+        OrderStatus current = request.getCurrentStatus() == null ? null : parseStatus(request.getCurrentStatus());
+        // Only the last id seen is kept between chunks, however many orders match.
+        Long[] after = {0L};
+        return transition(target, () -> {
+            List<Long> chunk = orderRepository.findIdsMatchingAfter(
+                    after[0], current, request.getFrom(), request.getTo(), Limit.of(STATUS_CHUNK_SIZE));
+            if (!chunk.isEmpty()) {
+                after[0] = chunk.get(chunk.size() - 1);
+            }
+            return chunk;
+        });
+    }
+
+    @Override
+    public int expireReservations(Collection<Long> orderIds) {
+        return transition(List.copyOf(orderIds), OrderStatus.CANCELLED).getUpdated();
+    }
+
+    private BulkStatusUpdateResponseDTO transition(List<Long> ids, OrderStatus target) {
+        int[] from = {0};
+        return transition(target, () -> {
+            List<Long> chunk = ids.subList(from[0], Math.min(from[0] + STATUS_CHUNK_SIZE, ids.size()));
+            from[0] += chunk.size();
+            return chunk;
+        });
+    }
+
+    /**
+     * Applies the transition one chunk per transaction, asking for the next chunk until an empty one.
+     */
+    private BulkStatusUpdateResponseDTO transition(OrderStatus target, Supplier<List<Long>> nextChunk) {
+        List<String> sources = OrderStatus.sourcesOf(target).stream().map(Enum::name).toList();
+        BulkStatusUpdateResponseDTO response = new BulkStatusUpdateResponseDTO(0, 0, new ArrayList<>());
+        for (List<Long> chunk = nextChunk.get(); !chunk.isEmpty(); chunk = nextChunk.get()) {
+            List<Long> ids = chunk;
+            BulkStatusUpdateResponseDTO outcome = transactionTemplate.execute(
+                    status -> transitionChunk(ids, target, sources));
+            response.setUpdated(response.getUpdated() + outcome.getUpdated());
+            response.setSkipped(response.getSkipped() + outcome.getSkipped());
+            outcome.getSkips().stream()
+                    .limit(MAX_REPORTED_SKIPS - response.getSkips().size())
+                    .forEach(response.getSkips()::add);
+        }
+        return response;
+    }
+
+    private BulkStatusUpdateResponseDTO transitionChunk(List<Long> ids, OrderStatus target, List<String> sources) {
+        List<Long> locked = sources.isEmpty() ? List.of() : orderRepository.lockIdsInStatus(ids, sources);
+        if (!locked.isEmpty()) {
+            if (target == OrderStatus.CANCELLED) {
+                Map<Long, Integer> quantities = new TreeMap<>();
+                orderRepository.sumQuantitiesByProduct(locked).forEach(
+                        row -> quantities.put((Long) row[0], ((Number) row[1]).intValue()));
+                releaseStock(quantities);
+            }
+            orderRepository.updateStatus(locked, target);
+        }
+
+        List<BulkStatusUpdateResponseDTO.Skip> skips = new ArrayList<>();
+        if (locked.size() < ids.size()) {
+            Set<Long> lockedIds = new HashSet<>(locked);
+            List<Long> skippedIds = ids.stream().filter(id -> !lockedIds.contains(id)).toList();
+            Map<Long, OrderStatus> current = new HashMap<>();
+            orderRepository.findStatuses(skippedIds).forEach(row -> current.put((Long) row[0], (OrderStatus) row[1]));
+            for (Long id : skippedIds) {
+                OrderStatus status = current.get(id);
+                String reason = status == null ? "Order not found"
+                        : status == target ? "Order is already " + target
+                        : transitionError(status, target);
+                skips.add(new BulkStatusUpdateResponseDTO.Skip(id, status == null ? null : status.name(), reason));
+            }
+        }
+        return new BulkStatusUpdateResponseDTO(locked.size(), skips.size(), skips);
+    }
+
+    /**
+     * Puts the stock of cancelled orders back on sale (which also takes their value off the products)
+     * with one change per product.
+     */
+    private void releaseStock(Map<Long, Integer> quantities) {
+        if (!quantities.isEmpty()) {
+            stockAllocator.release(quantities);
+            eventPublisher.publishEvent(new StockChangedEvent(null, quantities));
+        }
+    }
+
+    private static String transitionError(OrderStatus from, OrderStatus to) {
+        return "Cannot change order status from " + from + " to " + to;
+    }
+
+    private Map<Long, Integer> quantities(Order order) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        if (order.getItems() != null) {
+            order.getItems().forEach(item -> quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum));
+        }
+        return quantities;
+    }
+
     @Override
     public Map<String, BigDecimal> summarizeOrderValuePerProduct() {
-        return orderRepository.findAll().stream()
-                .flatMap(order -> order.getItems().stream())
-                .collect(Collectors.groupingBy(
-                        item -> item.getProduct().getSku(),
-                        Collectors.reducing(
-                                BigDecimal.ZERO,
-                                item -> item.getProduct().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())),
-                                BigDecimal::add)));
+        Map<String, BigDecimal> summary = new HashMap<>();
+        for (Object[] row : productRepository.findOrderedValuePerSku()) {
+            BigDecimal value = (BigDecimal) row[1];
+            if (value.signum() != 0) {
+                summary.put((String) row[0], value);
+            }
+        }
+        return summary;
+    }
+
+    @Override
+    @Transactional
+    public void rebuildOrderValueSummary() {
+        productRepository.rebuildOrderedValues(OrderStatus.CANCELLED);
+        eventPublisher.publishEvent(ProductsChangedEvent.all());
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package org.inventory.management.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.inventory.management.entity.Product;
+import org.inventory.management.event.ProductsChangedEvent;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded read-through cache of products by id (W-TinyLFU eviction) with a SKU to id index. Entries
+ * are evicted once a transaction that changes stock or product rows completes. A load that overlaps
+ * such an eviction is discarded instead of cached, and loads inside read-write transactions are
+ * never cached, so an entry only ever holds committed state. Callers get copies.
+ * <p>
+ * Reservations do not read from here: they decide on the database row.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ProductRepository productRepository;
+    private final Cache<Long, Product> productsById;
+    private final Cache<String, Long> idsBySku;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ProductCache(ProductRepository productRepository,
+                        @Value("${inventory.cache.products.max-size:10000}") long maxSize) {
+        this.productRepository = productRepository;
+        this.productsById = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.idsBySku = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public Optional<Product> get(Long id) {
+        Product cached = productsById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+
+        long generation = generations.get(stripe(id));
+        Optional<Product> loaded = productRepository.findById(id);
+        loaded.ifPresent(product -> put(product, generation));
+        return loaded;
+    }
+
+    public Optional<Product> getBySku(String sku) {
+        Long id = idsBySku.getIfPresent(sku);
+        if (id != null) {
+            Optional<Product> product = get(id);
+            if (product.isPresent() && sku.equals(product.get().getSku())) {
+                return product;
+            }
+        }
+
+        // Only the SKU mapping is kept here; the row is cached by the next lookup by id, which can
+        // tell whether it raced with an invalidation.
+        Optional<Product> loaded = productRepository.findBySku(sku);
+        loaded.ifPresent(product -> idsBySku.put(sku, product.getId()));
+        return loaded;
+    }
+
+    public void invalidate(Collection<Long> productIds) {
+        for (Long id : productIds) {
+            generations.incrementAndGet(stripe(id));
+            productsById.invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        productsById.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return productsById.stats();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        invalidate(event.getDeltas().keySet());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (event.getProductIds() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.getProductIds());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new CaffeineCacheMetrics<>(productsById, "products", List.of()).bindTo(registry);
+    }
+
+    private void put(Product product, long generation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        if (product.getSku() != null) {
+            idsBySku.put(product.getSku(), product.getId());
+        }
+        Product entry = copy(product);
+        // An invalidation bumps the generation before evicting, so either this check sees the bump
+        // or the eviction runs after this entry is in place and removes it.
+        productsById.asMap().compute(product.getId(),
+                (id, current) -> generations.get(stripe(id)) == generation ? entry : current);
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    private static Product copy(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .sku(product.getSku())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .orderedValue(product.getOrderedValue())
+                .version(product.getVersion())
+                .build();
+    }
+}
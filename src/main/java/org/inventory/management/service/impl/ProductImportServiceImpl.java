@@ -0,0 +1,268 @@
+package org.inventory.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.inventory.management.dto.ProductImportResultDTO;
+import org.inventory.management.dto.ProductRequestDTO;
+import org.inventory.management.entity.Product;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.mapper.ProductMapper;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.service.ProductImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams rows from the request body and writes them in chunks of {@code inventory.import.batch-size}:
+ * one SKU lookup and one batched insert per chunk, each chunk in its own transaction.
+ */
+@Service
+@Timed("inventory.service")
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "sku", "price", "stock");
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ProductImportServiceImpl(ProductRepository productRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${inventory.import.batch-size:1000}") int batchSize,
+                                    @Value("${inventory.import.max-reported-errors:1000}") int maxReportedErrors) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Import batch size must be positive");
+        }
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public ProductImportResultDTO importProducts(Reader source, Format format) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source, 1 << 16);
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        List<Row> chunk = new ArrayList<>(batchSize);
+        int[] csvColumns = null;
+        long lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line);
+                continue;
+            }
+
+            result.setReceived(result.getReceived() + 1);
+            ProductRequestDTO product;
+            try {
+                product = format == Format.CSV ? parseCsvRow(line, csvColumns) : parseJsonRow(line);
+            } catch (IllegalArgumentException e) {
+                reject(result, new ProductImportResultDTO.RowError(lineNumber, null, e.getMessage()));
+                continue;
+            }
+
+            Set<ConstraintViolation<ProductRequestDTO>> violations = validator.validate(product);
+            if (!violations.isEmpty()) {
+                reject(result, new ProductImportResultDTO.RowError(lineNumber, product.getSku(), describe(violations)));
+                continue;
+            }
+
+            chunk.add(new Row(lineNumber, product));
+            if (chunk.size() == batchSize) {
+                insertChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, result);
+        }
+        return result;
+    }
+
+    private void insertChunk(List<Row> chunk, ProductImportResultDTO result) {
+        ChunkOutcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> insert(chunk));
+        } catch (DataIntegrityViolationException first) {
+            // Another writer took one of the SKUs between the lookup and the insert; looking again sorts it out.
+            try {
+                outcome = transactionTemplate.execute(status -> insert(chunk));
+            } catch (DataIntegrityViolationException second) {
+                chunk.forEach(row -> reject(result, new ProductImportResultDTO.RowError(
+                        row.line(), row.product().getSku(), "Could not insert row: conflicting concurrent write")));
+                return;
+            }
+        }
+
+        result.setImported(result.getImported() + outcome.imported());
+        outcome.rejected().forEach(error -> reject(result, error));
+    }
+
+    private ChunkOutcome insert(List<Row> chunk) {
+        Set<String> existing = new HashSet<>(productRepository.findExistingSkus(
+                chunk.stream().map(row -> row.product().getSku()).collect(Collectors.toSet())));
+
+        List<Product> accepted = new ArrayList<>(chunk.size());
+        List<ProductImportResultDTO.RowError> rejected = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Row row : chunk) {
+            String sku = row.product().getSku();
+            if (existing.contains(sku)) {
+                rejected.add(new ProductImportResultDTO.RowError(row.line(), sku, "SKU already exists: " + sku));
+            } else if (!seen.add(sku)) {
+                rejected.add(new ProductImportResultDTO.RowError(row.line(), sku, "Duplicate SKU in file: " + sku));
+            } else {
+                accepted.add(ProductMapper.toEntity(row.product()));
+            }
+        }
+        if (accepted.isEmpty()) {
+            return new ChunkOutcome(0, rejected);
+        }
+
+        List<Product> saved = productRepository.saveAll(accepted);
+        productRepository.flush();
+
+        Map<Long, Integer> deltas = new HashMap<>(saved.size() * 2);
+        saved.forEach(product -> deltas.put(product.getId(), product.getStock() == null ? 0 : product.getStock()));
+        eventPublisher.publishEvent(StockChangedEvent.created(deltas));
+
+        return new ChunkOutcome(accepted.size(), rejected);
+    }
+
+    private ProductRequestDTO parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, ProductRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private int[] parseCsvHeader(String line) {
+        List<String> header = splitCsv(line).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = header.indexOf(CSV_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("CSV header must contain the columns " + String.join(",", CSV_COLUMNS));
+            }
+        }
+        return columns;
+    }
+
+    private ProductRequestDTO parseCsvRow(String line, int[] columns) {
+        List<String> cells = splitCsv(line);
+        return ProductRequestDTO.builder()
+                .name(cell(cells, columns[0]))
+                .sku(cell(cells, columns[1]))
+                .price(parse(cell(cells, columns[2]), BigDecimal::new, "price"))
+                .stock(parse(cell(cells, columns[3]), Integer::valueOf, "stock"))
+                .build();
+    }
+
+    private static String cell(List<String> cells, int index) {
+        if (index >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted cells with {@code ""} escapes. Quoted cells may
+     * not span lines.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted cell");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static String describe(Set<ConstraintViolation<ProductRequestDTO>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void reject(ProductImportResultDTO result, ProductImportResultDTO.RowError error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(error);
+        }
+    }
+
+    private record Row(long line, ProductRequestDTO product) {
+    }
+
+    private record ChunkOutcome(int imported, List<ProductImportResultDTO.RowError> rejected) {
+    }
+}
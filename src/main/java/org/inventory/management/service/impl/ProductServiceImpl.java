@@ -1,48 +1,92 @@
 package org.inventory.management.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.inventory.management.dto.ProductResponseDTO;
 import org.inventory.management.entity.Product;
+import org.inventory.management.event.StockChangedEvent;
 import org.inventory.management.repository.ProductRepository;
 import org.inventory.management.service.ProductService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("inventory.service")
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<LowStockWatcher> lowStockWatcher;
+    private final ProductCache productCache;
 
     @Override
     public Product createProduct(Product product) {
-        productRepository.findBySku(product.getSku())
+        productCache.getBySku(product.getSku())
                 .ifPresent(p -> {
                     throw new IllegalArgumentException("SKU already exists: " + product.getSku());
                 });
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(StockChangedEvent.created(
+                Map.of(saved.getId(), saved.getStock() == null ? 0 : saved.getStock())));
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> getAllProducts() {
+        return productRepository.findAllViews();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> getProductsAfter(Long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return productRepository.findViewsAfter(afterId == null ? 0L : afterId, Limit.of(limit));
     }
 
     @Override
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    @Transactional(readOnly = true)
+    public void forEachProduct(Consumer<ProductResponseDTO> action) {
+        try (Stream<ProductResponseDTO> products = productRepository.streamAllViews()) {
+            products.forEach(action);
+        }
     }
 
     @Override
     public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+        return productCache.get(id);
+    }
+
+    @Override
+    public Optional<Product> getProductBySku(String sku) {
+        return productCache.getBySku(sku);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Product> getLowStockProducts(int threshold) {
-        return productRepository.findAll().stream()
-                .filter(product -> product.getStock() < threshold)
-                .collect(Collectors.toList());
+        LowStockWatcher watcher = lowStockWatcher.getIfAvailable();
+        if (watcher != null && watcher.supports(threshold)) {
+            return watcher.getLowStockProducts(threshold);
+        }
+        return productRepository.findByStockLessThan(threshold);
     }
 
     public List<Product> getLowStockProducts() {
         return getLowStockProducts(5); 
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package org.inventory.management.service.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.inventory.management.entity.enums.OrderStatus;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.repository.OrderRepository;
+import org.inventory.management.service.OrderService;
+import org.inventory.management.support.HashedTimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Time-bounded reservations: a PENDING order holds its stock for {@code ttl-ms}. Deadlines are kept
+ * on a {@link HashedTimingWheel} of order ids, so tracking an order and expiring it are O(1) and no
+ * tick scans the orders table; deadlines of orders still pending at startup are reloaded once. Each
+ * tick hands the due ids to {@link OrderService#expireReservations}, which cancels those still
+ * PENDING and returns their stock in grouped updates. Orders completed or cancelled in the meantime
+ * are skipped there, so nothing has to be removed from the wheel when an order moves on.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.orders.reservation.enabled", havingValue = "true")
+public class ReservationExpiry implements MeterBinder {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final long ttlMillis;
+    private final HashedTimingWheel<Long> wheel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder expired = new LongAdder();
+
+    public ReservationExpiry(OrderService orderService,
+                             OrderRepository orderRepository,
+                             @Value("${inventory.orders.reservation.ttl-ms:900000}") long ttlMillis,
+                             @Value("${inventory.orders.reservation.tick-ms:1000}") long tickMillis,
+                             @Value("${inventory.orders.reservation.wheel-size:4096}") int wheelSize) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.ttlMillis = ttlMillis;
+        this.wheel = new HashedTimingWheel<>(wheelSize, tickMillis, System.currentTimeMillis());
+    }
+
+    public LocalDateTime deadlineFrom(LocalDateTime placedAt) {
+        return placedAt.plus(ttlMillis, ChronoUnit.MILLIS);
+    }
+
+    /**
+     * Starts the clock for an order once the transaction that reserved its stock has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.getOrderId() != null && event.getDeltas().values().stream().anyMatch(delta -> delta < 0)) {
+            track(event.getOrderId(), System.currentTimeMillis() + ttlMillis);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingReservations() {
+        List<Object[]> deadlines = orderRepository.findReservationDeadlines(OrderStatus.PENDING);
+        deadlines.forEach(row -> track((Long) row[0],
+                ((LocalDateTime) row[1]).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        log.info("Tracking {} pending reservations", deadlines.size());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.orders.reservation.tick-ms:1000}")
+    public void expireDue() {
+        List<Long> due;
+        lock.lock();
+        try {
+            due = wheel.advance(System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            expired.add(orderService.expireReservations(due));
+        } catch (RuntimeException e) {
+            log.warn("Expiring {} reservations failed, retrying on the next tick", due.size(), e);
+            long now = System.currentTimeMillis();
+            due.forEach(orderId -> track(orderId, now));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("inventory.orders.reservations.tracked", this, ReservationExpiry::tracked)
+                .description("Pending orders whose reservation deadline is on the timing wheel")
+                .register(registry);
+        FunctionCounter.builder("inventory.orders.reservations.expired", expired, LongAdder::sum)
+                .description("Pending orders cancelled because their reservation expired")
+                .register(registry);
+    }
+
+    private void track(Long orderId, long deadlineMillis) {
+        lock.lock();
+        try {
+            wheel.schedule(orderId, deadlineMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int tracked() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
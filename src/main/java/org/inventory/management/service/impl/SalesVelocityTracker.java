@@ -0,0 +1,186 @@
+package org.inventory.management.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.dto.SalesVelocityDTO;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.support.SlidingWindowCounter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Units sold per product over the last minute, hour and day, counted from the stock that committed
+ * orders reserve. Each product has three {@link SlidingWindowCounter}s (12 x 5 s, 12 x 5 min and
+ * 24 x 1 h buckets), so recording a sale is a few CASes and reading a product's velocity never
+ * touches order history. Cancellations do not take sales back. Products that sold nothing for a day
+ * are dropped by an hourly sweep.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.velocity.enabled", havingValue = "true", matchIfMissing = true)
+public class SalesVelocityTracker implements MeterBinder {
+
+    public enum Window {
+        MINUTE("1m", 12, 5_000),
+        HOUR("1h", 12, 300_000),
+        DAY("24h", 24, 3_600_000);
+
+        private final String key;
+        private final int buckets;
+        private final long bucketMillis;
+
+        Window(String key, int buckets, long bucketMillis) {
+            this.key = key;
+            this.buckets = buckets;
+            this.bucketMillis = bucketMillis;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public static Window of(String key) {
+            return Arrays.stream(values())
+                    .filter(window -> window.key.equals(key))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Window must be one of 1m, 1h, 24h"));
+        }
+    }
+
+    private static final double MILLIS_PER_HOUR = 3_600_000;
+
+    private final ProductRepository productRepository;
+    private final ConcurrentHashMap<Long, Sales> salesByProduct = new ConcurrentHashMap<>();
+    private final long startedMillis = System.currentTimeMillis();
+
+    public SalesVelocityTracker(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.getOrderId() == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        event.getDeltas().forEach((productId, delta) -> {
+            if (delta < 0) {
+                record(productId, -delta, now);
+            }
+        });
+    }
+
+    public void record(Long productId, int units, long nowMillis) {
+        Sales sales;
+        do {
+            sales = salesByProduct.computeIfAbsent(productId, id -> new Sales());
+            sales.add(nowMillis, units);
+            // The sweep may have dropped this entry as idle just before the add; count it again on the new one.
+        } while (salesByProduct.get(productId) != sales);
+    }
+
+    public Optional<SalesVelocityDTO> velocity(Long productId, Window window) {
+        long now = System.currentTimeMillis();
+        return productRepository.findViewsByIdIn(List.of(productId)).stream()
+                .findFirst()
+                .map(product -> toDTO(product, salesByProduct.getOrDefault(productId, Sales.NONE), window, now));
+    }
+
+    /**
+     * The {@code limit} products selling fastest over {@code window}, each with its projected time to
+     * stockout; stock comes from one lookup of those product rows.
+     */
+    public List<SalesVelocityDTO> fastestSelling(Window window, int limit) {
+        long now = System.currentTimeMillis();
+        Comparator<Map.Entry<Long, Long>> byUnits = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<Long, Long>> top = new PriorityQueue<>(limit + 1, byUnits);
+        salesByProduct.forEach((productId, sales) -> {
+            long units = sales.counter(window).sum(now);
+            if (units > 0) {
+                top.add(Map.entry(productId, units));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        });
+        if (top.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ProductResponseDTO> products = productRepository.findViewsByIdIn(
+                        top.stream().map(Map.Entry::getKey).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(ProductResponseDTO::getId, Function.identity()));
+        return top.stream()
+                .sorted(byUnits.reversed())
+                .filter(entry -> products.containsKey(entry.getKey()))
+                .map(entry -> toDTO(products.get(entry.getKey()), salesByProduct.getOrDefault(entry.getKey(), Sales.NONE),
+                        window, now))
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.velocity.sweep-interval-ms:3600000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        salesByProduct.keySet().forEach(productId -> salesByProduct.computeIfPresent(productId,
+                (id, sales) -> sales.counter(Window.DAY).sum(now) == 0 ? null : sales));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("inventory.velocity.tracked", salesByProduct, Map::size)
+                .description("Products with sales in the last day whose velocity is tracked")
+                .register(registry);
+    }
+
+    private SalesVelocityDTO toDTO(ProductResponseDTO product, Sales sales, Window window, long now) {
+        long units = sales.counter(window).sum(now);
+        long span = Math.min(sales.counter(window).spanMillis(now), now - startedMillis + 1);
+        double unitsPerHour = units * MILLIS_PER_HOUR / span;
+        int stock = product.getStock() == null ? 0 : product.getStock();
+        return SalesVelocityDTO.builder()
+                .productId(product.getId())
+                .sku(product.getSku())
+                .stock(product.getStock())
+                .unitsLastMinute(sales.counter(Window.MINUTE).sum(now))
+                .unitsLastHour(sales.counter(Window.HOUR).sum(now))
+                .unitsLastDay(sales.counter(Window.DAY).sum(now))
+                .window(window.key())
+                .unitsPerHour(unitsPerHour)
+                .hoursToStockout(units == 0 ? null : stock / unitsPerHour)
+                .build();
+    }
+
+    private static final class Sales {
+
+        private static final Sales NONE = new Sales();
+
+        private final SlidingWindowCounter[] counters = Arrays.stream(Window.values())
+                .map(window -> new SlidingWindowCounter(window.buckets, window.bucketMillis))
+                .toArray(SlidingWindowCounter[]::new);
+
+        private void add(long nowMillis, int units) {
+            for (SlidingWindowCounter counter : counters) {
+                counter.add(nowMillis, units);
+            }
+        }
+
+        private SlidingWindowCounter counter(Window window) {
+            return counters[window.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.inventory.management.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.support.StockJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Journals every committed stock change to a {@link StockJournal}. Movements are appended after the
+ * transaction that made them commits, so the journal never holds a change that was rolled back and
+ * the order path pays for a 32-byte copy per product rather than a history row. A scheduled sync
+ * forces all movements appended since the last one to disk together.
+ * <p>
+ * Once the application is ready, after startup runners have seeded or generated products, every
+ * product's current stock is journaled as a baseline, and new products are journaled with a
+ * baseline of their initial stock. {@link #rebuildStock()} replays from this run's baseline, so
+ * movements of products from an earlier run, even under reused ids, are not carried over.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.stock.journal.enabled", havingValue = "true")
+public class StockJournalRecorder implements MeterBinder {
+
+    private final ProductRepository productRepository;
+    private final StockJournal journal;
+    private volatile long baselineOffset = -1;
+
+    public StockJournalRecorder(ProductRepository productRepository,
+                                @Value("${inventory.stock.journal.dir:data/stock-journal}") Path directory,
+                                @Value("${inventory.stock.journal.records-per-segment:1048576}") int recordsPerSegment)
+            throws IOException {
+        this.productRepository = productRepository;
+        this.journal = new StockJournal(directory, recordsPerSegment);
+        log.info("Stock journal in {} continues at offset {}", directory.toAbsolutePath(), journal.nextOffset());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recordBaseline() {
+        long now = System.currentTimeMillis();
+        long start = journal.nextOffset();
+        List<ProductResponseDTO> products = productRepository.findAllViews();
+        for (ProductResponseDTO product : products) {
+            journal.appendBaseline(product.getId(), product.getStock() == null ? 0 : product.getStock(), now);
+        }
+        journal.sync();
+        baselineOffset = start;
+        log.info("Journaled baseline stock for {} products from offset {}", products.size(), start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        long orderId = event.getOrderId() == null ? 0 : event.getOrderId();
+        long now = System.currentTimeMillis();
+        event.getDeltas().forEach((productId, delta) -> {
+            if (event.isCreated()) {
+                journal.appendBaseline(productId, delta, now);
+            } else if (delta != 0) {
+                journal.append(productId, delta, orderId, now);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.stock.journal.sync-interval-ms:50}")
+    public void sync() {
+        journal.sync();
+    }
+
+    public List<StockJournal.Movement> movementsSince(long offset, int limit) {
+        return journal.read(offset, limit);
+    }
+
+    /**
+     * Each product's stock as replayed from the journal: its latest baseline plus the movements
+     * committed after it, starting from this run's startup baseline.
+     */
+    public Map<Long, Long> rebuildStock() {
+        long from = baselineOffset;
+        if (from < 0) {
+            throw new IllegalStateException("Stock baseline has not been recorded yet");
+        }
+        return journal.stockLevels(from);
+    }
+
+    public long nextOffset() {
+        return journal.nextOffset();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("inventory.stock.journal.offset", journal, StockJournal::nextOffset)
+                .description("Offset the next stock movement will be journaled at")
+                .register(registry);
+        Gauge.builder("inventory.stock.journal.unsynced", journal, j -> j.nextOffset() - j.durableOffset())
+                .description("Journaled stock movements not yet forced to disk")
+                .register(registry);
+    }
+}
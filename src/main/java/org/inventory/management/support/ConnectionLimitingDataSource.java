@@ -0,0 +1,93 @@
+package org.inventory.management.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many connections callers can hold at once. Excess callers park in FIFO order on a
+ * semaphore, which costs a virtual thread almost nothing, and give up after the acquire timeout
+ * instead of piling onto the pool. The permit is returned when the connection is closed.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public ConnectionLimitingDataSource(DataSource target, int maxConnections, long acquireTimeoutMillis) {
+        super(target);
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Connection limit must be positive");
+        }
+        this.permits = new Semaphore(maxConnections, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No database connection available within " + acquireTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0 && released.compareAndSet(false, true)) {
+                try {
+                    connection.close();
+                } finally {
+                    permits.release();
+                }
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionLimitingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
@@ -0,0 +1,86 @@
+package org.inventory.management.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: a deadline maps to the bucket of its tick modulo the wheel size, and an entry
+ * more than one revolution away carries the number of full rounds it still has to wait. Scheduling
+ * is O(1); advancing visits one bucket per elapsed tick and touches only the entries in it, so the
+ * cost does not grow with the number of outstanding deadlines. Entries fire at or after their
+ * deadline, at most one tick late. Not thread-safe.
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final Entry<T>[] buckets;
+    private final int mask;
+    private long nextTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(int wheelSize, long tickMillis, long startMillis) {
+        if (wheelSize < 1 || tickMillis < 1) {
+            throw new IllegalArgumentException("wheelSize and tickMillis must be positive");
+        }
+        int length = 1;
+        while (length < wheelSize) {
+            length <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new Entry[length];
+        this.mask = length - 1;
+        this.nextTick = startMillis / tickMillis;
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        // Round up so the entry never fires before its deadline; past deadlines fire on the next advance.
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), nextTick);
+        int index = (int) (tick & mask);
+        buckets[index] = new Entry<>(item, (tick - nextTick) / buckets.length, buckets[index]);
+        size++;
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis} and returns the items whose deadline has passed.
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long lastTick = nowMillis / tickMillis;
+        while (nextTick <= lastTick) {
+            int index = (int) (nextTick & mask);
+            Entry<T> remaining = null;
+            for (Entry<T> entry = buckets[index]; entry != null; ) {
+                Entry<T> following = entry.next;
+                if (entry.rounds == 0) {
+                    expired.add(entry.item);
+                    size--;
+                } else {
+                    entry.rounds--;
+                    entry.next = remaining;
+                    remaining = entry;
+                }
+                entry = following;
+            }
+            buckets[index] = remaining;
+            nextTick++;
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private long rounds;
+        private Entry<T> next;
+
+        private Entry(T item, long rounds, Entry<T> next) {
+            this.item = item;
+            this.rounds = rounds;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.inventory.management.support;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Business-level counters for outcomes seen outside the services, such as the exception handler and
+ * the optimistic lock retry. Recording only bumps an adder; the counters are registered once when
+ * the application's registry binds this bean.
+ */
+@Component
+public class InventoryMetrics implements MeterBinder {
+
+    private final LongAdder insufficientStock = new LongAdder();
+    private final LongAdder resourceNotFound = new LongAdder();
+    private final LongAdder optimisticLockRetried = new LongAdder();
+    private final LongAdder optimisticLockRejected = new LongAdder();
+
+    public void insufficientStock() {
+        insufficientStock.increment();
+    }
+
+    public void resourceNotFound() {
+        resourceNotFound.increment();
+    }
+
+    /**
+     * A conflict that a retry absorbed.
+     */
+    public void optimisticLockRetried() {
+        optimisticLockRetried.increment();
+    }
+
+    /**
+     * A conflict that reached the client.
+     */
+    public void optimisticLockRejected() {
+        optimisticLockRejected.increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("inventory.stock.insufficient", insufficientStock, LongAdder::sum)
+                .description("Orders rejected for insufficient stock")
+                .register(registry);
+        FunctionCounter.builder("inventory.resource.not.found", resourceNotFound, LongAdder::sum)
+                .description("Requests for products or orders that do not exist")
+                .register(registry);
+        FunctionCounter.builder("inventory.optimistic.lock.conflicts", optimisticLockRetried, LongAdder::sum)
+                .description("Optimistic lock conflicts")
+                .tag("outcome", "retried")
+                .register(registry);
+        FunctionCounter.builder("inventory.optimistic.lock.conflicts", optimisticLockRejected, LongAdder::sum)
+                .description("Optimistic lock conflicts")
+                .tag("outcome", "rejected")
+                .register(registry);
+    }
+}
@@ -0,0 +1,67 @@
+package org.inventory.management.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs an action that failed on an optimistic lock conflict, backing off exponentially with
+ * jitter between attempts. The action must open its own transaction so every attempt starts clean.
+ */
+@Component
+public class OptimisticLockRetryExecutor {
+
+    private final InventoryMetrics inventoryMetrics;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticLockRetryExecutor(
+            InventoryMetrics inventoryMetrics,
+            @Value("${inventory.retry.optimistic.max-attempts:3}") int maxAttempts,
+            @Value("${inventory.retry.optimistic.initial-backoff-ms:10}") long initialBackoffMillis,
+            @Value("${inventory.retry.optimistic.max-backoff-ms:200}") long maxBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("max-attempts must be at least 1");
+        }
+        this.inventoryMetrics = inventoryMetrics;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = Math.max(1, initialBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoffMillis);
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                inventoryMetrics.optimisticLockRetried();
+                pause(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1), ex);
+                backoff = Math.min(backoff * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void pause(long millis, OptimisticLockingFailureException cause) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.inventory.management.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free count of events over a rolling window, kept in a ring of time buckets. Each slot packs
+ * the bucket number it belongs to (high 32 bits) with its count (low 32 bits), so adding is a single
+ * CAS that also resets a slot left over from an earlier revolution, and no thread ever has to sweep
+ * old buckets. {@link #sum} covers the current, partial bucket plus the {@code buckets - 1} before it.
+ */
+public class SlidingWindowCounter {
+
+    private static final long LOW_BITS = 0xFFFF_FFFFL;
+
+    private final long bucketMillis;
+    private final AtomicLongArray slots;
+
+    public SlidingWindowCounter(int buckets, long bucketMillis) {
+        if (buckets < 1 || bucketMillis < 1) {
+            throw new IllegalArgumentException("buckets and bucketMillis must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.slots = new AtomicLongArray(buckets);
+    }
+
+    public void add(long nowMillis, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        long bucket = (nowMillis / bucketMillis) & LOW_BITS;
+        int index = (int) (bucket % slots.length());
+        while (true) {
+            long current = slots.get(index);
+            long next = current >>> 32 == bucket ? current + count : bucket << 32 | count;
+            if (slots.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    public long sum(long nowMillis) {
+        long bucket = (nowMillis / bucketMillis) & LOW_BITS;
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long slot = slots.get(i);
+            long age = (bucket - (slot >>> 32)) & LOW_BITS;
+            if (age < slots.length()) {
+                total += slot & LOW_BITS;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * How much time {@link #sum} reaches back at {@code nowMillis}, for turning a sum into a rate.
+     */
+    public long spanMillis(long nowMillis) {
+        return (slots.length() - 1) * bucketMillis + nowMillis % bucketMillis + 1;
+    }
+}
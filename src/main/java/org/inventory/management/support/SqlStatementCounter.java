@@ -0,0 +1,54 @@
+package org.inventory.management.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, by statement kind. A batched
+ * insert or update is prepared once and therefore counts once.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    public enum Kind { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[Kind.values().length]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.get()[kindOf(sql).ordinal()]++;
+        return sql;
+    }
+
+    public static void reset() {
+        Arrays.fill(COUNTS.get(), 0);
+    }
+
+    public static long count(Kind kind) {
+        return COUNTS.get()[kind.ordinal()];
+    }
+
+    public static long total() {
+        long total = 0;
+        for (long count : COUNTS.get()) {
+            total += count;
+        }
+        return total;
+    }
+
+    private static Kind kindOf(String sql) {
+        String head = sql.stripLeading();
+        int end = 0;
+        while (end < head.length() && Character.isLetter(head.charAt(end))) {
+            end++;
+        }
+        return switch (head.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> Kind.SELECT;
+            case "insert" -> Kind.INSERT;
+            case "update" -> Kind.UPDATE;
+            case "delete" -> Kind.DELETE;
+            default -> Kind.OTHER;
+        };
+    }
+}
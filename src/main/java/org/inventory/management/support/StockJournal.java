@@ -0,0 +1,234 @@
+package org.inventory.management.support;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of stock movements in fixed-size, memory-mapped segment files. A movement is a
+ * 32-byte record (product id, order id, timestamp, delta, CRC32C of the rest) and its offset is its
+ * position in the log, so offsets are dense and never reused. Appends only copy into the mapped
+ * segment; {@link #sync()} forces everything appended since the previous call in one go, which is
+ * how many appends share one fsync. A full segment is forced and a new one named after its first
+ * offset is mapped. On open the last segment is scanned up to the first record whose checksum does
+ * not match, so a torn or never-written tail is overwritten rather than replayed.
+ * <p>
+ * A baseline record (order id {@link #BASELINE}) carries a product's absolute stock instead of a
+ * change; {@link #stockLevels} starts each product from its latest baseline and adds the
+ * movements after it.
+ */
+public class StockJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 32;
+
+    /**
+     * Order id that marks a record as a baseline: its delta is the product's stock at that point.
+     */
+    public static final long BASELINE = -1;
+
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final CRC32C crc = new CRC32C();
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+
+    private FileChannel activeChannel;
+    private MappedByteBuffer active;
+    private long activeBase;
+    private volatile long nextOffset;
+    private volatile long durableOffset;
+
+    public StockJournal(Path directory, int recordsPerSegment) throws IOException {
+        if (recordsPerSegment < 1) {
+            throw new IllegalArgumentException("recordsPerSegment must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.recordsPerSegment = recordsPerSegment;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), file);
+            }
+        }
+        long base = segments.isEmpty() ? 0 : segments.lastKey();
+        openSegment(base);
+        int written = 0;
+        while (written < recordsPerSegment && validAt(active, written * RECORD_SIZE)) {
+            written++;
+        }
+        active.position(written * RECORD_SIZE);
+        this.nextOffset = base + written;
+        this.durableOffset = nextOffset;
+    }
+
+    /**
+     * Appends a movement and returns its offset. The record is readable at once but only durable
+     * after the next {@link #sync()}. Use 0 as {@code orderId} for movements that belong to no order.
+     */
+    public long append(long productId, int delta, long orderId, long timestampMillis) {
+        synchronized (appendLock) {
+            if (!active.hasRemaining()) {
+                roll();
+            }
+            int start = active.position();
+            active.putLong(productId).putLong(orderId).putLong(timestampMillis).putInt(delta);
+            crc.reset();
+            crc.update(active.duplicate().position(start).limit(start + RECORD_SIZE - Integer.BYTES));
+            active.putInt((int) crc.getValue());
+            return nextOffset++;
+        }
+    }
+
+    /**
+     * Appends a baseline stating that {@code productId} had {@code stock} units, and returns its offset.
+     */
+    public long appendBaseline(long productId, int stock, long timestampMillis) {
+        return append(productId, stock, BASELINE, timestampMillis);
+    }
+
+    /**
+     * Forces every record appended so far to disk and returns the offset up to which the log is
+     * durable. Concurrent appends are not blocked while the force runs.
+     */
+    public long sync() {
+        synchronized (syncLock) {
+            MappedByteBuffer buffer;
+            long base;
+            long end;
+            synchronized (appendLock) {
+                buffer = active;
+                base = activeBase;
+                end = nextOffset;
+            }
+            if (end > durableOffset) {
+                // Earlier segments were forced when they were rolled.
+                int from = (int) (Math.max(durableOffset, base) - base) * RECORD_SIZE;
+                buffer.force(from, (int) (end - base) * RECORD_SIZE - from);
+                synchronized (appendLock) {
+                    // A roll in the meantime may already have made more of the log durable.
+                    durableOffset = Math.max(durableOffset, end);
+                }
+            }
+            return durableOffset;
+        }
+    }
+
+    public long nextOffset() {
+        return nextOffset;
+    }
+
+    public long durableOffset() {
+        return durableOffset;
+    }
+
+    /**
+     * Returns up to {@code maxRecords} movements starting at {@code fromOffset}, in log order.
+     */
+    public List<Movement> read(long fromOffset, int maxRecords) {
+        List<Movement> movements = new ArrayList<>(Math.min(maxRecords, 1024));
+        scan(fromOffset, maxRecords, movements::add);
+        return movements;
+    }
+
+    /**
+     * Replays the log from {@code fromOffset} into each product's stock: a baseline sets it, every
+     * other movement adds to it. Products with no baseline in that range start from 0.
+     */
+    public Map<Long, Long> stockLevels(long fromOffset) {
+        Map<Long, Long> stock = new HashMap<>();
+        scan(fromOffset, Long.MAX_VALUE, movement -> {
+            if (movement.baseline()) {
+                stock.put(movement.productId(), (long) movement.delta());
+            } else {
+                stock.merge(movement.productId(), (long) movement.delta(), Long::sum);
+            }
+        });
+        return stock;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            sync();
+            synchronized (appendLock) {
+                activeChannel.close();
+            }
+        }
+    }
+
+    private void scan(long fromOffset, long maxRecords, Consumer<Movement> consumer) {
+        long end = nextOffset;
+        long offset = Math.max(fromOffset, 0);
+        long remaining = maxRecords;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        while (offset < end && remaining > 0) {
+            Map.Entry<Long, Path> segment;
+            synchronized (appendLock) {
+                segment = segments.floorEntry(offset);
+            }
+            long segmentEnd = Math.min(segment.getKey() + recordsPerSegment, end);
+            try (FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                for (; offset < segmentEnd && remaining > 0; offset++, remaining--) {
+                    record.clear();
+                    channel.read(record, (offset - segment.getKey()) * RECORD_SIZE);
+                    record.flip();
+                    consumer.accept(new Movement(offset, record.getLong(), record.getInt(24),
+                            record.getLong(8), record.getLong(16)));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void roll() {
+        active.force();
+        durableOffset = Math.max(durableOffset, nextOffset);
+        try {
+            activeChannel.close();
+            openSegment(nextOffset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void openSegment(long base) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", base, SUFFIX));
+        activeChannel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        active = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        activeBase = base;
+        segments.put(base, file);
+    }
+
+    private boolean validAt(ByteBuffer buffer, int position) {
+        crc.reset();
+        crc.update(buffer.duplicate().position(position).limit(position + RECORD_SIZE - Integer.BYTES));
+        return buffer.getInt(position + RECORD_SIZE - Integer.BYTES) == (int) crc.getValue();
+    }
+
+    public record Movement(long offset, long productId, int delta, long orderId, long timestamp) {
+
+        public boolean baseline() {
+            return orderId == BASELINE;
+        }
+    }
+}
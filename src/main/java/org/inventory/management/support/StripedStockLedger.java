@@ -0,0 +1,140 @@
+package org.inventory.management.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory available-stock counters sharded by product id. Each stripe owns a plain map guarded by
+ * its own lock; multi-product reservations lock the stripes they touch in index order, so they are
+ * all-or-nothing and cannot deadlock against each other.
+ */
+public class StripedStockLedger {
+
+    private final Stripe[] stripes;
+
+    public StripedStockLedger(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("stripeCount must be positive");
+        }
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isLoaded(Long productId) {
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            return stripe.available.containsKey(productId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Seeds the counter for a product unless it is already tracked; an existing counter always wins
+     * because it reflects reservations the loaded value may not have seen yet.
+     */
+    public void load(Long productId, int available) {
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            stripe.available.putIfAbsent(productId, available);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public OptionalInt available(Long productId) {
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            Integer available = stripe.available.get(productId);
+            return available == null ? OptionalInt.empty() : OptionalInt.of(available);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Takes every requested quantity or none of them. Returns the first product (in iteration
+     * order) that could not be covered, or empty when the whole reservation succeeded.
+     */
+    public Optional<Long> tryReserve(Map<Long, Integer> quantities) {
+        TreeSet<Integer> indexes = lockStripes(quantities);
+        try {
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                Integer available = stripeFor(entry.getKey()).available.get(entry.getKey());
+                if (available == null) {
+                    throw new IllegalStateException("Stock not loaded for product: " + entry.getKey());
+                }
+                if (available < entry.getValue()) {
+                    return Optional.of(entry.getKey());
+                }
+            }
+            quantities.forEach((productId, quantity) ->
+                    stripeFor(productId).available.merge(productId, -quantity, Integer::sum));
+            return Optional.empty();
+        } finally {
+            unlockStripes(indexes);
+        }
+    }
+
+    /**
+     * Adds quantities back to products that are tracked. Untracked products are skipped: their
+     * counter will be loaded from the database, which already reflects the change.
+     */
+    public void release(Map<Long, Integer> quantities) {
+        TreeSet<Integer> indexes = lockStripes(quantities);
+        try {
+            quantities.forEach((productId, quantity) ->
+                    stripeFor(productId).available.computeIfPresent(productId, (id, available) -> available + quantity));
+        } finally {
+            unlockStripes(indexes);
+        }
+    }
+
+    public void evict(Long productId) {
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            stripe.available.remove(productId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private TreeSet<Integer> lockStripes(Map<Long, Integer> quantities) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        quantities.keySet().forEach(productId -> indexes.add(indexFor(productId)));
+        indexes.forEach(index -> stripes[index].lock.lock());
+        return indexes;
+    }
+
+    private void unlockStripes(TreeSet<Integer> indexes) {
+        indexes.descendingSet().forEach(index -> stripes[index].lock.unlock());
+    }
+
+    private Stripe stripeFor(Long productId) {
+        return stripes[indexFor(productId)];
+    }
+
+    private int indexFor(Long productId) {
+        long h = productId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (stripes.length - 1);
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Integer> available = new HashMap<>();
+    }
+}
@@ -0,0 +1,62 @@
+package org.inventory.management.support;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 1..n with probability proportional to {@code 1 / rank^exponent}, using Hormann and
+ * Derflinger's rejection-inversion method: constant memory and a little over one uniform draw per
+ * sample on average, however large n is. Rank 1 is the most popular. Stateless apart from the
+ * precomputed bounds, so one sampler can be shared between threads that bring their own random.
+ */
+public class ZipfSampler {
+
+    private final int n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1 || exponent <= 0) {
+            throw new IllegalArgumentException("n and exponent must be positive");
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    public int sample(SplittableRandom random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) Math.max(1, Math.min(n, x + 0.5));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(x * (1 - exponent), -1);
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    private static double log1pOverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    private static double expm1OverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x * (1.0 / 3) * (1 + 0.25 * x));
+    }
+}
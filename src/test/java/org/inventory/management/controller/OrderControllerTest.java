@@ -1,9 +1,21 @@
 package org.inventory.management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.inventory.management.dto.BatchOrderRequestDTO;
+import org.inventory.management.dto.BatchOrderResponseDTO;
+import org.inventory.management.dto.BulkStatusUpdateRequestDTO;
+import org.inventory.management.dto.BulkStatusUpdateResponseDTO;
+import org.inventory.management.dto.OrderPageResponseDTO;
 import org.inventory.management.dto.OrderRequestDTO;
 import org.inventory.management.dto.OrderResponseDTO;
+import org.inventory.management.entity.Order;
+import org.inventory.management.exception.InsufficientStockException;
+import org.inventory.management.repository.IdempotencyRecordRepository;
 import org.inventory.management.service.OrderService;
+import org.inventory.management.service.impl.IdempotencyStore;
+import org.inventory.management.support.InventoryMetrics;
+import org.inventory.management.support.OptimisticLockRetryExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,19 +23,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(OrderController.class)
-@Import(OrderControllerTest.MockedBeans.class)
+@Import({OrderControllerTest.MockedBeans.class, OptimisticLockRetryExecutor.class, IdempotencyStore.class,
+        InventoryMetrics.class})
 class OrderControllerTest {
 
     @Autowired
@@ -35,6 +53,9 @@ class OrderControllerTest {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private InventoryMetrics inventoryMetrics;
+
     @BeforeEach
     void setup() {
         reset(orderService);
@@ -45,6 +66,16 @@ class OrderControllerTest {
         public OrderService orderService() {
             return mock(OrderService.class);
         }
+
+        @Bean
+        public IdempotencyRecordRepository idempotencyRecordRepository() {
+            return mock(IdempotencyRecordRepository.class);
+        }
+
+        @Bean
+        public TransactionTemplate transactionTemplate() {
+            return new TransactionTemplate(mock(PlatformTransactionManager.class));
+        }
     }
 
     @Test
@@ -66,6 +97,98 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.status").value("PENDING"));
     }
 
+    @Test
+    void createOrder_ShouldReplayResponse_WhenIdempotencyKeyIsRepeated() throws Exception {
+        OrderRequestDTO request = new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 2)));
+        when(orderService.createOrder(any())).thenReturn(OrderResponseDTO.builder()
+                .orderId(5L)
+                .status("PENDING")
+                .items(List.of())
+                .build());
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/orders")
+                            .header("Idempotency-Key", "checkout-42")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.orderId").value(5L));
+        }
+        verify(orderService, times(1)).createOrder(any());
+
+        mockMvc.perform(post("/orders")
+                        .header("Idempotency-Key", "checkout-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 3))))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getOrders_ShouldPassFiltersAndReturnPage() throws Exception {
+        OrderResponseDTO order = OrderResponseDTO.builder().orderId(3L).status("PENDING").items(List.of()).build();
+        when(orderService.getOrders("pending", LocalDateTime.of(2024, 1, 1, 0, 0), null, 1, 2))
+                .thenReturn(new OrderPageResponseDTO(List.of(order), 1, 2, 3, 2));
+        when(orderService.getOrder(3L)).thenReturn(order);
+
+        mockMvc.perform(get("/orders")
+                        .param("status", "pending")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].orderId").value(3L))
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        mockMvc.perform(get("/orders/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void createOrders_ShouldReturnPerOrderResults() throws Exception {
+        OrderRequestDTO order = new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 1)));
+        BatchOrderResponseDTO response = new BatchOrderResponseDTO(1, 1, List.of(
+                BatchOrderResponseDTO.Result.created(0, OrderResponseDTO.builder().orderId(7L).status("PENDING").build()),
+                BatchOrderResponseDTO.Result.rejected(1, "Not enough stock for product: Laptop")));
+
+        when(orderService.createOrders(List.of(order, order))).thenReturn(response);
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchOrderRequestDTO(List.of(order, order)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].order.orderId").value(7L))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].error").value("Not enough stock for product: Laptop"));
+    }
+
+    @Test
+    void createOrders_ShouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchOrderRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.orders").value("Orders list cannot be empty"));
+    }
+
+    @Test
+    void createOrder_ShouldReturnBadRequestAndCount_WhenStockIsInsufficient() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        inventoryMetrics.bindTo(registry);
+        double before = registry.get("inventory.stock.insufficient").functionCounter().count();
+        when(orderService.createOrder(any()))
+                .thenThrow(new InsufficientStockException("Not enough stock for product: Laptop"));
+
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Not enough stock for product: Laptop"));
+
+        assertEquals(before + 1, registry.get("inventory.stock.insufficient").functionCounter().count());
+    }
+
     @Test
     void updateStatus_ShouldReturnNoContent() throws Exception {
         mockMvc.perform(put("/orders/1/status")
@@ -75,6 +198,49 @@ class OrderControllerTest {
         verify(orderService).updateOrderStatus(1L, "COMPLETED");
     }
 
+    @Test
+    void updateStatus_ShouldRetryOptimisticLockConflicts() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L))
+                .doNothing()
+                .when(orderService).updateOrderStatus(1L, "COMPLETED");
+
+        mockMvc.perform(put("/orders/1/status")
+                        .param("status", "COMPLETED"))
+                .andExpect(status().isNoContent());
+
+        verify(orderService, times(2)).updateOrderStatus(1L, "COMPLETED");
+    }
+
+    @Test
+    void updateStatus_ShouldReturnConflict_WhenRetriesAreExhausted() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L))
+                .when(orderService).updateOrderStatus(1L, "COMPLETED");
+
+        mockMvc.perform(put("/orders/1/status")
+                        .param("status", "COMPLETED"))
+                .andExpect(status().isConflict());
+
+        verify(orderService, times(3)).updateOrderStatus(1L, "COMPLETED");
+    }
+
+    @Test
+    void updateStatuses_ShouldReturnUpdatedAndSkippedOrders() throws Exception {
+        BulkStatusUpdateRequestDTO request = BulkStatusUpdateRequestDTO.builder()
+                .status("COMPLETED")
+                .ids(List.of(1L, 2L))
+                .build();
+        when(orderService.updateOrderStatuses(request)).thenReturn(new BulkStatusUpdateResponseDTO(1, 1, List.of(
+                new BulkStatusUpdateResponseDTO.Skip(2L, "CANCELLED", "Cannot change order status from CANCELLED to COMPLETED"))));
+
+        mockMvc.perform(post("/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.skips[0].orderId").value(2L))
+                .andExpect(jsonPath("$.skips[0].status").value("CANCELLED"));
+    }
+
     @Test
     void getOrderSummary_ShouldReturnSummaryMap() throws Exception {
         Map<String, BigDecimal> summary = Map.of("SKU001", new BigDecimal("1999.98"));
@@ -1,9 +1,15 @@
 package org.inventory.management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.inventory.management.dto.ProductImportResultDTO;
 import org.inventory.management.dto.ProductRequestDTO;
+import org.inventory.management.dto.ProductResponseDTO;
 import org.inventory.management.entity.Product;
+import org.inventory.management.mapper.ProductMapper;
+import org.inventory.management.service.ProductImportService;
 import org.inventory.management.service.ProductService;
+import org.inventory.management.service.impl.CatalogSnapshot;
+import org.inventory.management.support.InventoryMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -14,17 +20,24 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
-@Import(ProductControllerTest.MockedBeans.class)
+@Import({ProductControllerTest.MockedBeans.class, InventoryMetrics.class})
 class ProductControllerTest {
 
     @Autowired
@@ -33,12 +46,21 @@ class ProductControllerTest {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private Product testProduct;
 
     @BeforeEach
     void setup() {
+        // The mocks and the snapshot are shared by every test in this context.
+        clearInvocations(productService);
+        catalogSnapshot.invalidate();
         testProduct = Product.builder()
                 .id(1L)
                 .name("Phone")
@@ -69,16 +91,158 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.stock").value(10));
     }
 
+    @Test
+    void importProducts_ShouldReturnPerRowResult() throws Exception {
+        ProductImportResultDTO result = ProductImportResultDTO.builder()
+                .received(2)
+                .imported(1)
+                .failed(1)
+                .errors(List.of(new ProductImportResultDTO.RowError(3, "PH001", "SKU already exists: PH001")))
+                .build();
+        when(productImportService.importProducts(any(), eq(ProductImportService.Format.CSV))).thenReturn(result);
+
+        mockMvc.perform(post("/products/bulk")
+                        .contentType("text/csv")
+                        .content("name,sku,price,stock\nTablet,TB001,499.99,4\nPhone,PH001,999.99,10\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].error").value("SKU already exists: PH001"));
+    }
+
     @Test
     void getAllProducts_ShouldReturnList() throws Exception {
-        when(productService.getAllProducts()).thenReturn(List.of(testProduct));
+        when(productService.getAllProducts()).thenReturn(List.of(ProductMapper.toDTO(testProduct)));
 
         mockMvc.perform(get("/products"))
                 .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].sku").value("PH001"));
     }
 
+    @Test
+    void getAllProducts_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        when(productService.getAllProducts()).thenReturn(List.of(ProductMapper.toDTO(testProduct)));
+        String etag = mockMvc.perform(get("/products"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/products").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(productService, times(1)).getAllProducts();
+    }
+
+    @Test
+    void getAllProducts_ShouldServeGzippedSnapshot_WhenClientAcceptsGzip() throws Exception {
+        when(productService.getAllProducts()).thenReturn(List.of(ProductMapper.toDTO(testProduct)));
+
+        byte[] body = mockMvc.perform(get("/products").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("PH001", objectMapper.readTree(in.readAllBytes()).get(0).get("sku").asText());
+        }
+    }
+
+    @Test
+    void getProductPage_ShouldReturnCursorForNextPage() throws Exception {
+        Product second = Product.builder()
+                .id(2L)
+                .name("Tablet")
+                .sku("TB001")
+                .price(new BigDecimal("499.99"))
+                .stock(4)
+                .build();
+        when(productService.getProductsAfter(null, 2))
+                .thenReturn(List.of(ProductMapper.toDTO(testProduct), ProductMapper.toDTO(second)));
+        when(productService.getProductsAfter(2L, 2)).thenReturn(List.of());
+
+        mockMvc.perform(get("/products").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[1].sku").value("TB001"))
+                .andExpect(jsonPath("$.nextAfter").value(2));
+
+        mockMvc.perform(get("/products").param("after", "2").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.nextAfter").doesNotExist());
+    }
+
+    @Test
+    void getProductPage_ShouldUseTheDefaultLimit_WhenOnlyAfterIsGiven() throws Exception {
+        when(productService.getProductsAfter(5L, 100)).thenReturn(List.of(ProductMapper.toDTO(testProduct)));
+
+        mockMvc.perform(get("/products").param("after", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].sku").value(testProduct.getSku()))
+                .andExpect(jsonPath("$.nextAfter").doesNotExist());
+
+        verify(productService).getProductsAfter(5L, 100);
+    }
+
+    @Test
+    void streamProducts_ShouldWriteOneJsonObjectPerLine_ByDefault() throws Exception {
+        stubProductStream();
+
+        MvcResult started = mockMvc.perform(get("/products/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("PH001", objectMapper.readTree(lines[0]).get("sku").asText());
+        assertEquals("TB001", objectMapper.readTree(lines[1]).get("sku").asText());
+    }
+
+    @Test
+    void streamProducts_ShouldWriteOneJsonArray_WhenFormatIsJson() throws Exception {
+        stubProductStream();
+
+        MvcResult started = mockMvc.perform(get("/products/stream").param("format", "JSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].sku").value("PH001"))
+                .andExpect(jsonPath("$[1].sku").value("TB001"));
+    }
+
+    @Test
+    void streamProducts_ShouldRejectAnUnknownFormat() throws Exception {
+        mockMvc.perform(get("/products/stream").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported format: xml"));
+
+        verify(productService, never()).forEachProduct(any());
+    }
+
+    @Test
+    void getProduct_ShouldReturnProduct_OrNotFound() throws Exception {
+        when(productService.getProductById(1L)).thenReturn(Optional.of(testProduct));
+        when(productService.getProductById(2L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sku").value("PH001"));
+
+        mockMvc.perform(get("/products/2"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Product not found with ID: 2"));
+    }
+
     @Test
     void getLowStock_ShouldReturnFilteredList() throws Exception {
         testProduct.setStock(3);
@@ -91,11 +255,51 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[0].stock").value(3));
     }
 
+    @Test
+    void getStockMovements_ShouldReturnNotFound_WhenJournalIsDisabled() throws Exception {
+        mockMvc.perform(get("/products/movements?from=0"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Stock journal is not enabled"));
+    }
+
+    @Test
+    void getFastestSelling_ShouldReturnNotFound_WhenTrackingIsDisabled() throws Exception {
+        mockMvc.perform(get("/products/velocity?window=1h"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Sales velocity tracking is not enabled"));
+    }
+
+    private void stubProductStream() {
+        Product second = Product.builder()
+                .id(2L)
+                .name("Tablet")
+                .sku("TB001")
+                .price(new BigDecimal("499.99"))
+                .stock(4)
+                .build();
+        doAnswer(invocation -> {
+            Consumer<ProductResponseDTO> action = invocation.getArgument(0);
+            action.accept(ProductMapper.toDTO(testProduct));
+            action.accept(ProductMapper.toDTO(second));
+            return null;
+        }).when(productService).forEachProduct(any());
+    }
+
     @TestConfiguration
     static class MockedBeans {
         @Bean
         public ProductService productService() {
             return Mockito.mock(ProductService.class);
         }
+
+        @Bean
+        public ProductImportService productImportService() {
+            return Mockito.mock(ProductImportService.class);
+        }
+
+        @Bean
+        public CatalogSnapshot catalogSnapshot(ProductService productService, ObjectMapper objectMapper) {
+            return new CatalogSnapshot(productService, objectMapper, true);
+        }
     }
 }
\ No newline at end of file
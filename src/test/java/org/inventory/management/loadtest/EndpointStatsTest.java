@@ -0,0 +1,56 @@
+package org.inventory.management.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointStatsTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void record_ShouldClassifyOutcomesByStatus() {
+        EndpointStats stats = new EndpointStats();
+        for (int status : new int[]{200, 201, 204, 299, 400, 404, 409, 499, 300, 500, 503}) {
+            stats.record(0, 0, MILLI, status);
+        }
+        stats.recordFailure(0, 0, MILLI);
+
+        assertEquals(4, stats.succeeded());
+        assertEquals(4, stats.rejected());
+        // Redirects, server errors and requests that got no response at all.
+        assertEquals(4, stats.failed());
+    }
+
+    @Test
+    void record_ShouldMeasureResponseTimeFromWhenTheRequestWasDue() {
+        EndpointStats stats = new EndpointStats();
+        stats.record(0, 40 * MILLI, 50 * MILLI, 200);
+
+        Histogram interval = stats.interval(true);
+
+        assertEquals(1, interval.getTotalCount());
+        assertEquals(50_000, stats.responseTotal().getMaxValue(), 50);
+        assertEquals(10_000, stats.serviceTotal().getMaxValue(), 10);
+    }
+
+    @Test
+    void interval_ShouldDropOutcomesAndLatencies_WhenWarmingUp() {
+        EndpointStats stats = new EndpointStats();
+        stats.record(0, 0, MILLI, 200);
+        stats.record(0, 0, MILLI, 409);
+        stats.recordFailure(0, 0, MILLI);
+
+        stats.interval(false);
+        stats.record(0, 0, 2 * MILLI, 201);
+        stats.interval(true);
+
+        assertEquals(1, stats.succeeded());
+        assertEquals(0, stats.rejected());
+        assertEquals(0, stats.failed());
+        assertEquals(1, stats.responseTotal().getTotalCount());
+    }
+}
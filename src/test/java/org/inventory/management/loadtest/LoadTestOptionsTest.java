@@ -0,0 +1,87 @@
+package org.inventory.management.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestOptionsTest {
+
+    @Test
+    void parse_ShouldUseDefaults_WhenNoOptionsAreGiven() {
+        LoadTestOptions options = LoadTestOptions.parse(new String[0]);
+
+        assertEquals(URI.create("http://localhost:8080"), options.baseUrl());
+        assertEquals(200, options.rate());
+        assertFalse(options.poisson());
+        assertEquals(Duration.ofSeconds(60), options.duration());
+        assertEquals(Duration.ofSeconds(10), options.warmup());
+        assertEquals(64, options.concurrency());
+        assertEquals(Map.of(Endpoint.ORDERS, 50, Endpoint.PRODUCTS, 15, Endpoint.CATALOG, 5,
+                Endpoint.LOW_STOCK, 20, Endpoint.SUMMARY, 10), options.mix());
+        assertNull(options.histogramDir());
+    }
+
+    @Test
+    void parse_ShouldReadEveryGivenOption() {
+        LoadTestOptions options = LoadTestOptions.parse(new String[]{
+                "--base-url=http://inventory:9090", "--rate=500", "--arrivals=poisson", "--duration=120",
+                "--warmup=15", "--concurrency=128", "--timeout=3", "--mix=orders:90, catalog:10, summary:0",
+                "--zipf-exponent=1.2", "--max-items=5", "--catalog-size=500", "--page-size=50",
+                "--low-stock-threshold=7", "--report-interval=2", "--seed=7", "--histogram-dir=build/loadtest"});
+
+        assertEquals(URI.create("http://inventory:9090"), options.baseUrl());
+        assertEquals(500, options.rate());
+        assertTrue(options.poisson());
+        assertEquals(Duration.ofSeconds(120), options.duration());
+        assertEquals(Duration.ofSeconds(15), options.warmup());
+        assertEquals(128, options.concurrency());
+        assertEquals(Duration.ofSeconds(3), options.timeout());
+        // Endpoints keep the order they were given in, and a zero weight leaves one out.
+        assertEquals(List.of(Endpoint.ORDERS, Endpoint.CATALOG), List.copyOf(options.mix().keySet()));
+        assertEquals(90, options.mix().get(Endpoint.ORDERS));
+        assertEquals(1.2, options.zipfExponent());
+        assertEquals(5, options.maxItemsPerOrder());
+        assertEquals(500, options.catalogSize());
+        assertEquals(50, options.pageSize());
+        assertEquals(7, options.lowStockThreshold());
+        assertEquals(Duration.ofSeconds(2), options.reportInterval());
+        assertEquals(7, options.seed());
+        assertEquals(Path.of("build/loadtest"), options.histogramDir());
+    }
+
+    @Test
+    void parse_ShouldRejectMalformedOrUnknownOptions() {
+        assertEquals("Expected --name=value but got rate=5",
+                assertThrows(IllegalArgumentException.class,
+                        () -> LoadTestOptions.parse(new String[]{"rate=5"})).getMessage());
+        assertEquals("Expected --name=value but got --rate",
+                assertThrows(IllegalArgumentException.class,
+                        () -> LoadTestOptions.parse(new String[]{"--rate"})).getMessage());
+        assertEquals("Unknown options: [threads]",
+                assertThrows(IllegalArgumentException.class,
+                        () -> LoadTestOptions.parse(new String[]{"--threads=4"})).getMessage());
+        assertEquals("arrivals must be uniform or poisson",
+                assertThrows(IllegalArgumentException.class,
+                        () -> LoadTestOptions.parse(new String[]{"--arrivals=burst"})).getMessage());
+    }
+
+    @Test
+    void parse_ShouldRejectInvalidMixesAndNonPositiveSettings() {
+        assertEquals("Unknown endpoint in mix: checkout",
+                assertThrows(IllegalArgumentException.class,
+                        () -> LoadTestOptions.parse(new String[]{"--mix=checkout:10"})).getMessage());
+        assertEquals("mix needs at least one endpoint with a positive weight",
+                assertThrows(IllegalArgumentException.class,
+                        () -> LoadTestOptions.parse(new String[]{"--mix=orders:0"})).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"--rate=0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"--concurrency=0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"--max-items=0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"--catalog-size=0"}));
+    }
+}
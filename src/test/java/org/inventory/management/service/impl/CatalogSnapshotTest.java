@@ -0,0 +1,66 @@
+package org.inventory.management.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.event.ProductsChangedEvent;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.service.ProductService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotTest {
+
+    private final ProductService productService = mock(ProductService.class);
+    private final CatalogSnapshot catalog = new CatalogSnapshot(productService, new ObjectMapper(), true);
+
+    @Test
+    void get_ShouldServeTheSameBytesUntilStockChanges() {
+        when(productService.getAllProducts())
+                .thenReturn(List.of(product(5)))
+                .thenReturn(List.of(product(4)));
+
+        CatalogSnapshot.Snapshot first = catalog.get();
+        assertSame(first, catalog.get());
+        verify(productService, times(1)).getAllProducts();
+
+        catalog.onStockChanged(new StockChangedEvent(9L, Map.of(1L, -1)));
+        CatalogSnapshot.Snapshot second = catalog.get();
+        assertNotEquals(first.etag(), second.etag());
+        assertTrue(new String(second.json()).contains("\"stock\":4"));
+        verify(productService, times(2)).getAllProducts();
+    }
+
+    @Test
+    void get_ShouldKeepTheEtag_WhenARebuildProducesTheSameContent() {
+        when(productService.getAllProducts()).thenReturn(List.of(product(5)));
+
+        String etag = catalog.get().etag();
+        catalog.onProductsChanged(ProductsChangedEvent.all());
+
+        assertEquals(etag, catalog.get().etag());
+        verify(productService, times(2)).getAllProducts();
+    }
+
+    @Test
+    void matches_ShouldAcceptEitherEncodingAndWeakTags() {
+        when(productService.getAllProducts()).thenReturn(List.of(product(5)));
+        CatalogSnapshot.Snapshot snapshot = catalog.get();
+
+        assertTrue(snapshot.matches(snapshot.etag()));
+        assertTrue(snapshot.matches("\"other\", W/" + snapshot.gzipEtag()));
+        assertTrue(snapshot.matches("*"));
+        assertFalse(snapshot.matches("\"other\""));
+        assertFalse(snapshot.matches(null));
+        assertNotNull(snapshot.gzipped());
+    }
+
+    private static ProductResponseDTO product(int stock) {
+        return new ProductResponseDTO(1L, "Phone", "PH001", new BigDecimal("999.99"), stock);
+    }
+}
@@ -0,0 +1,175 @@
+package org.inventory.management.service.impl;
+
+import org.inventory.management.entity.Product;
+import org.inventory.management.entity.StockGrant;
+import org.inventory.management.exception.InsufficientStockException;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.repository.StockGrantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HotStockCombinerTest {
+
+    private ProductRepository productRepository;
+    private StockGrantRepository stockGrantRepository;
+    private Map<Long, StockGrant> grants;
+    private Product product;
+    private AtomicInteger decrements;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        product = Product.builder().id(1L).name("Console").stock(20).build();
+        decrements = new AtomicInteger();
+        stockGrantRepository = mock(StockGrantRepository.class);
+        grants = new ConcurrentHashMap<>();
+        AtomicLong grantIds = new AtomicLong();
+        when(stockGrantRepository.save(any(StockGrant.class))).thenAnswer(invocation -> {
+            StockGrant grant = invocation.getArgument(0);
+            grant.setId(grantIds.incrementAndGet());
+            grants.put(grant.getId(), grant);
+            return grant;
+        });
+        when(stockGrantRepository.findAllById(anyCollection())).thenAnswer(invocation -> invocation
+                .<Collection<Long>>getArgument(0).stream().map(grants::get).filter(Objects::nonNull).toList());
+        when(stockGrantRepository.deleteByIds(anyCollection())).thenAnswer(invocation -> (int) invocation
+                .<Collection<Long>>getArgument(0).stream().filter(id -> grants.remove(id) != null).count());
+        when(productRepository.findByIdForUpdate(1L)).thenAnswer(invocation -> Optional.of(product));
+        when(productRepository.decrementStock(eq(1L), anyInt())).thenAnswer(invocation -> {
+            decrements.incrementAndGet();
+            product.setStock(product.getStock() - invocation.<Integer>getArgument(1));
+            return 1;
+        });
+    }
+
+    @Test
+    void admit_ShouldMarkProductHot_OnceEnoughOrdersAreInFlight() {
+        HotStockCombiner combiner = combiner(3, 0);
+
+        HotStockCombiner.Admission first = combiner.admit(Set.of(1L));
+        HotStockCombiner.Admission second = combiner.admit(Set.of(1L));
+        assertTrue(second.hotProductIds().isEmpty());
+
+        HotStockCombiner.Admission third = combiner.admit(Set.of(1L, 2L));
+        assertEquals(Set.of(1L), third.hotProductIds());
+
+        third.close();
+        second.close();
+        first.close();
+        // Still within the hot period after the crowd has gone.
+        try (HotStockCombiner.Admission next = combiner.admit(Set.of(1L))) {
+            assertEquals(Set.of(1L), next.hotProductIds());
+        }
+    }
+
+    @Test
+    void reserve_ShouldGrantInArrivalOrderWhileStockLasts_WithFewerDecrementsThanCallers() throws Exception {
+        HotStockCombiner combiner = combiner(1, 2_000);
+        int callers = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try (HotStockCombiner.Admission admission = combiner.admit(Set.of(1L))) {
+                        return combiner.reserve(Map.of(1L, 1)).size() == 1;
+                    } catch (InsufficientStockException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int granted = 0;
+            for (Future<Boolean> result : results) {
+                granted += result.get() ? 1 : 0;
+            }
+            assertEquals(20, granted);
+            assertEquals(0, product.getStock());
+            assertEquals(20, grants.size());
+            assertTrue(decrements.get() < callers, "expected batched decrements, got " + decrements.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reserve_ShouldGiveBackEarlierProducts_WhenALaterOneIsShort() {
+        Product other = Product.builder().id(2L).name("Controller").stock(0).build();
+        when(productRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(other));
+        HotStockCombiner combiner = combiner(1, 0);
+
+        try (HotStockCombiner.Admission admission = combiner.admit(Set.of(1L, 2L))) {
+            InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                    () -> combiner.reserve(Map.of(1L, 3, 2L, 1)));
+            assertEquals("Not enough stock for product: Controller", exception.getMessage());
+        }
+
+        verify(productRepository).decrementStock(1L, 3);
+        verify(productRepository, never()).decrementStock(eq(2L), anyInt());
+        verify(productRepository).incrementStock(1L, 3);
+        assertTrue(grants.isEmpty());
+    }
+
+    @Test
+    void claim_ShouldConsumeGrantsOnce_SoALaterReleaseGivesNothingBack() {
+        HotStockCombiner combiner = combiner(1, 0);
+        List<Long> granted;
+        try (HotStockCombiner.Admission admission = combiner.admit(Set.of(1L))) {
+            granted = combiner.reserve(Map.of(1L, 2));
+        }
+
+        combiner.claim(granted);
+        combiner.release(granted);
+
+        assertEquals(18, product.getStock());
+        verify(productRepository, never()).incrementStock(anyLong(), anyInt());
+        assertThrows(IllegalStateException.class, () -> combiner.claim(granted));
+    }
+
+    @Test
+    void releaseAbandonedGrants_ShouldGiveBackGrantsNoOrderClaimed() {
+        grants.put(100L, StockGrant.builder().id(100L).productId(1L).quantity(4)
+                .grantedAt(LocalDateTime.now().minusMinutes(5)).build());
+        when(stockGrantRepository.findByGrantedAtBefore(any())).thenAnswer(invocation -> List.copyOf(grants.values()));
+
+        HotStockCombiner combiner = combiner(1, 0);
+        combiner.releaseAbandonedGrants();
+        combiner.releaseAbandonedGrants();
+
+        verify(productRepository, times(1)).incrementStock(1L, 4);
+        assertTrue(grants.isEmpty());
+    }
+
+    private HotStockCombiner combiner(int hotThreshold, long windowMicros) {
+        return new HotStockCombiner(productRepository, stockGrantRepository, mock(PlatformTransactionManager.class),
+                hotThreshold, 60_000, windowMicros, 1000, 60_000);
+    }
+}
@@ -0,0 +1,95 @@
+package org.inventory.management.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.inventory.management.dto.OrderRequestDTO;
+import org.inventory.management.dto.OrderResponseDTO;
+import org.inventory.management.entity.IdempotencyRecord;
+import org.inventory.management.exception.InsufficientStockException;
+import org.inventory.management.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotencyStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final OrderRequestDTO request = new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 2)));
+
+    private IdempotencyRecordRepository recordRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        recordRepository = mock(IdempotencyRecordRepository.class);
+        transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void execute_ShouldForgetFailedRequests() {
+        IdempotencyStore store = new IdempotencyStore(recordRepository, transactionTemplate, objectMapper, 100, 60_000, false);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(InsufficientStockException.class, () -> store.execute("k1", request, OrderResponseDTO.class, () -> {
+            calls.incrementAndGet();
+            throw new InsufficientStockException("Not enough stock for product: Laptop");
+        }));
+        OrderResponseDTO response = store.execute("k1", request, OrderResponseDTO.class, () -> {
+            calls.incrementAndGet();
+            return OrderResponseDTO.builder().orderId(3L).build();
+        });
+
+        assertEquals(3L, response.getOrderId());
+        assertEquals(2, calls.get());
+        verifyNoInteractions(recordRepository);
+    }
+
+    @Test
+    void execute_ShouldRecordResponse_WhenPersistent() {
+        IdempotencyStore store = new IdempotencyStore(recordRepository, transactionTemplate, objectMapper, 100, 60_000, true);
+        when(recordRepository.findById("k2")).thenReturn(Optional.empty());
+
+        store.execute("k2", request, OrderResponseDTO.class, () -> OrderResponseDTO.builder().orderId(4L).build());
+
+        verify(recordRepository).saveAndFlush(argThat(record -> record.getKey().equals("k2") && record.isNew()));
+    }
+
+    @Test
+    void execute_ShouldReplayStoredRecord_WithoutRunningTheRequest() {
+        IdempotencyStore store = new IdempotencyStore(recordRepository, transactionTemplate, objectMapper, 100, 60_000, true);
+        IdempotencyStore firstInstance = new IdempotencyStore(recordRepository, transactionTemplate, objectMapper, 100, 60_000, true);
+        when(recordRepository.findById("k3")).thenReturn(Optional.empty());
+        firstInstance.execute("k3", request, OrderResponseDTO.class, () -> OrderResponseDTO.builder().orderId(9L).build());
+
+        IdempotencyRecord saved = captureSavedRecord();
+        when(recordRepository.findById("k3")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .key("k3")
+                .fingerprint(saved.getFingerprint())
+                .response(saved.getResponse())
+                .createdAt(LocalDateTime.now())
+                .build()));
+
+        OrderResponseDTO replayed = store.execute("k3", request, OrderResponseDTO.class, () -> {
+            throw new AssertionError("must not run twice");
+        });
+
+        assertEquals(9L, replayed.getOrderId());
+        verify(recordRepository, times(1)).saveAndFlush(any());
+    }
+
+    private IdempotencyRecord captureSavedRecord() {
+        ArgumentCaptor<IdempotencyRecord> captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(recordRepository).saveAndFlush(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,65 @@
+package org.inventory.management.service.impl;
+
+import org.inventory.management.entity.Product;
+import org.inventory.management.repository.StockLedgerEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LedgerStockAllocatorTest {
+
+    private final StockLedgerEntryRepository entryRepository = mock(StockLedgerEntryRepository.class);
+    private final LedgerStockAllocator allocator = new LedgerStockAllocator(entryRepository,
+            mock(JdbcTemplate.class), mock(ApplicationEventPublisher.class), 4);
+    private final Product product = Product.builder().id(1L).name("Laptop").stock(5).build();
+
+    @BeforeEach
+    void setUp() {
+        when(entryRepository.findAvailableStock(Set.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, 5}));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void reserve_ShouldReloadTheCounter_WhenTheOutcomeOfTheCommitIsUnknown() {
+        allocator.reserve(Map.of(1L, 2), Map.of(1L, product));
+        complete(TransactionSynchronization.STATUS_UNKNOWN);
+
+        allocator.reserve(Map.of(1L, 2), Map.of(1L, product));
+
+        // The counter was dropped rather than guessed at, so the second reservation reloads it.
+        verify(entryRepository, times(2)).findAvailableStock(Set.of(1L));
+    }
+
+    @Test
+    void reserve_ShouldKeepTheCounter_WhenTheTransactionCommits() {
+        allocator.reserve(Map.of(1L, 2), Map.of(1L, product));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        allocator.reserve(Map.of(1L, 2), Map.of(1L, product));
+
+        verify(entryRepository, times(1)).findAvailableStock(Set.of(1L));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
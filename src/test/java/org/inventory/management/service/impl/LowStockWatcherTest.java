@@ -0,0 +1,66 @@
+package org.inventory.management.service.impl;
+
+import org.inventory.management.entity.Product;
+import org.inventory.management.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LowStockWatcherTest {
+
+    private ProductRepository productRepository;
+    private LowStockWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        watcher = new LowStockWatcher(productRepository, 10, 1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.shutdown();
+    }
+
+    @Test
+    void refresh_ShouldTrackProductsBelowMaxThresholdOrderedByStock() {
+        when(productRepository.findStockSnapshots(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                snapshot(1L, "MON101", 3),
+                snapshot(2L, "PRT105", 1),
+                snapshot(3L, "LAP123", 50)));
+
+        watcher.refresh(List.of(1L, 2L, 3L));
+
+        List<Product> result = watcher.getLowStockProducts(5);
+        assertEquals(List.of("PRT105", "MON101"), result.stream().map(Product::getSku).toList());
+        assertTrue(watcher.getLowStockProducts(2).stream().allMatch(p -> p.getStock() < 2));
+    }
+
+    @Test
+    void refresh_ShouldDropProductsThatAreRestocked() {
+        when(productRepository.findStockSnapshots(List.of(1L))).thenReturn(
+                List.<Object[]>of(snapshot(1L, "MON101", 3)),
+                List.<Object[]>of(snapshot(1L, "MON101", 30)));
+
+        watcher.refresh(List.of(1L));
+        watcher.refresh(List.of(1L));
+
+        assertTrue(watcher.getLowStockProducts(10).isEmpty());
+    }
+
+    @Test
+    void getLowStockProducts_ShouldRejectThresholdAboveWatchedMaximum() {
+        assertFalse(watcher.supports(11));
+        assertThrows(IllegalArgumentException.class, () -> watcher.getLowStockProducts(11));
+    }
+
+    private Object[] snapshot(Long id, String sku, int stock) {
+        return new Object[]{id, sku, sku, new BigDecimal("10"), stock};
+    }
+}
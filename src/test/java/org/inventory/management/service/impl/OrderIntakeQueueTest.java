@@ -0,0 +1,108 @@
+package org.inventory.management.service.impl;
+
+import org.inventory.management.dto.BatchOrderResponseDTO;
+import org.inventory.management.dto.OrderRequestDTO;
+import org.inventory.management.dto.OrderResponseDTO;
+import org.inventory.management.dto.OrderTicketDTO;
+import org.inventory.management.exception.ServiceBusyException;
+import org.inventory.management.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OrderIntakeQueueTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private OrderIntakeQueue intake;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        intake.shutdown();
+    }
+
+    @Test
+    void submit_ShouldResolveTicketsFromTheGroupResult() throws InterruptedException {
+        when(orderService.createOrders(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<OrderRequestDTO> requests = invocation.getArgument(0);
+            List<BatchOrderResponseDTO.Result> results = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                results.add(requests.get(i).getItems().get(0).getQuantity() > 1
+                        ? BatchOrderResponseDTO.Result.rejected(i, "Not enough stock for product: Laptop")
+                        : BatchOrderResponseDTO.Result.created(i, OrderResponseDTO.builder().orderId(10L + i).build()));
+            }
+            return new BatchOrderResponseDTO(0, 0, results);
+        });
+        intake = new OrderIntakeQueue(orderService, 10, 1, 50, 1_000, 60_000);
+        intake.start();
+
+        OrderTicketDTO accepted = intake.submit(new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 1))));
+        OrderTicketDTO rejected = intake.submit(new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 5))));
+        assertEquals("PENDING", accepted.getStatus());
+
+        OrderTicketDTO placed = awaitResolution(accepted.getTicketId());
+        assertEquals("CREATED", placed.getStatus());
+        assertNotNull(placed.getOrder().getOrderId());
+        assertEquals("REJECTED", awaitResolution(rejected.getTicketId()).getStatus());
+    }
+
+    @Test
+    void submit_ShouldRejectWhenTheQueueIsFull() {
+        intake = new OrderIntakeQueue(orderService, 1, 0, 50, 1_000, 60_000);
+        intake.start();
+        OrderRequestDTO request = new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 1)));
+
+        OrderTicketDTO first = intake.submit(request);
+
+        assertThrows(ServiceBusyException.class, () -> intake.submit(request));
+        assertEquals("PENDING", intake.getTicket(first.getTicketId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void submit_ShouldFailTheGroup_WhenPlacementThrows() throws InterruptedException {
+        when(orderService.createOrders(anyList(), anyInt())).thenThrow(new IllegalStateException("database down"));
+        intake = new OrderIntakeQueue(orderService, 10, 1, 50, 1_000, 60_000);
+        intake.start();
+
+        OrderTicketDTO ticket = intake.submit(new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 1))));
+
+        assertEquals("FAILED", awaitResolution(ticket.getTicketId()).getStatus());
+    }
+
+    @Test
+    void place_ShouldPassTheConfiguredGroupSize() throws InterruptedException {
+        when(orderService.createOrders(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<OrderRequestDTO> requests = invocation.getArgument(0);
+            List<BatchOrderResponseDTO.Result> results = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                results.add(BatchOrderResponseDTO.Result.created(i, OrderResponseDTO.builder().orderId(10L + i).build()));
+            }
+            return new BatchOrderResponseDTO(0, 0, results);
+        });
+        intake = new OrderIntakeQueue(orderService, 10, 1, 250, 1_000, 60_000);
+        intake.start();
+
+        OrderTicketDTO ticket = intake.submit(new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 1))));
+
+        assertEquals("CREATED", awaitResolution(ticket.getTicketId()).getStatus());
+        verify(orderService).createOrders(anyList(), eq(250));
+    }
+
+    private OrderTicketDTO awaitResolution(String ticketId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            OrderTicketDTO ticket = intake.getTicket(ticketId).orElseThrow();
+            if (!"PENDING".equals(ticket.getStatus())) {
+                return ticket;
+            }
+            Thread.sleep(10);
+        }
+        fail("Ticket was not resolved: " + ticketId);
+        return null;
+    }
+}
@@ -1,19 +1,28 @@
 package org.inventory.management.service.impl;
 
+import org.inventory.management.dto.BatchOrderResponseDTO;
+import org.inventory.management.dto.BulkStatusUpdateRequestDTO;
 import org.inventory.management.dto.OrderRequestDTO;
 import org.inventory.management.dto.OrderResponseDTO;
 import org.inventory.management.entity.Order;
 import org.inventory.management.entity.OrderItem;
 import org.inventory.management.entity.Product;
+import org.inventory.management.entity.StockGrant;
 import org.inventory.management.entity.enums.OrderStatus;
+import org.inventory.management.event.StockChangedEvent;
 import org.inventory.management.exception.InsufficientStockException;
 import org.inventory.management.exception.ResourceNotFoundException;
 import org.inventory.management.repository.OrderItemRepository;
 import org.inventory.management.repository.OrderRepository;
 import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.repository.StockGrantRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,11 +30,14 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class OrderServiceImplTest {
 
-    @InjectMocks
     private OrderServiceImpl orderService;
 
     @Mock
@@ -37,9 +49,24 @@ class OrderServiceImplTest {
     @Mock
     private OrderItemRepository orderItemRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockGrantRepository stockGrantRepository;
+
+    @Mock
+    private ObjectProvider<HotStockCombiner> hotStockCombiner;
+
+    @Mock
+    private ObjectProvider<ReservationExpiry> reservationExpiry;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        orderService = new OrderServiceImpl(productRepository, orderRepository,
+                new DatabaseStockAllocator(productRepository), eventPublisher,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), hotStockCombiner, reservationExpiry);
     }
 
     @Test
@@ -59,7 +86,8 @@ class OrderServiceImplTest {
                 .price(new BigDecimal("1000"))
                 .build();
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(laptop));
+        when(productRepository.findAllById(any())).thenReturn(List.of(laptop));
+        when(productRepository.decrementStock(1L, 1)).thenReturn(1);
 
         Order savedOrder = Order.builder()
                 .id(1L)
@@ -78,6 +106,9 @@ class OrderServiceImplTest {
 
         assertNotNull(response);
         assertEquals(OrderStatus.PENDING.name(), response.getStatus());
+        verify(productRepository).decrementStock(1L, 1);
+        verify(productRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new StockChangedEvent(1L, Map.of(1L, -1)));
     }
 
     @Test
@@ -98,7 +129,7 @@ class OrderServiceImplTest {
                 .price(new BigDecimal("1000"))
                 .build();
     
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
     
         InsufficientStockException exception = assertThrows(
                 InsufficientStockException.class,
@@ -108,6 +139,119 @@ class OrderServiceImplTest {
         assertEquals("Not enough stock for product: Laptop", exception.getMessage());
     }
 
+    @Test
+    void createOrder_ShouldLoadAllProductsOnceAndCheckCombinedQuantities() {
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .items(List.of(
+                        OrderRequestDTO.Item.builder().productId(1L).quantity(2).build(),
+                        OrderRequestDTO.Item.builder().productId(2L).quantity(1).build(),
+                        OrderRequestDTO.Item.builder().productId(1L).quantity(2).build()))
+                .build();
+
+        Product laptop = Product.builder().id(1L).name("Laptop").stock(3).price(new BigDecimal("1000")).build();
+        Product mouse = Product.builder().id(2L).name("Mouse").stock(5).price(new BigDecimal("25")).build();
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(laptop, mouse));
+
+        InsufficientStockException exception = assertThrows(
+                InsufficientStockException.class,
+                () -> orderService.createOrder(request));
+
+        assertEquals("Not enough stock for product: Laptop", exception.getMessage());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).decrementStock(any(), anyInt());
+    }
+
+    @Test
+    void createOrder_ShouldReleaseEarlierDecrements_WhenConditionalDecrementFails() {
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .items(List.of(
+                        OrderRequestDTO.Item.builder().productId(2L).quantity(1).build(),
+                        OrderRequestDTO.Item.builder().productId(1L).quantity(2).build()))
+                .build();
+
+        Product laptop = Product.builder().id(1L).name("Laptop").stock(3).price(new BigDecimal("1000")).build();
+        Product mouse = Product.builder().id(2L).name("Mouse").stock(5).price(new BigDecimal("25")).build();
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(laptop, mouse));
+        when(productRepository.decrementStock(1L, 2)).thenReturn(1);
+        when(productRepository.decrementStock(2L, 1)).thenReturn(0);
+
+        InsufficientStockException exception = assertThrows(
+                InsufficientStockException.class,
+                () -> orderService.createOrder(request));
+
+        assertEquals("Not enough stock for product: Mouse", exception.getMessage());
+        verify(productRepository).incrementStock(1L, 2);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrder_ShouldCombineHotProductsAndGiveStockBack_WhenOrderFails() {
+        // A threshold of one makes every product hot.
+        when(hotStockCombiner.getIfAvailable()).thenReturn(new HotStockCombiner(productRepository, stockGrantRepository,
+                mock(PlatformTransactionManager.class), 1, 1000, 0, 100, 60_000));
+        Product laptop = Product.builder().id(1L).name("Laptop").stock(5).price(new BigDecimal("1000")).build();
+        Product mouse = Product.builder().id(2L).name("Mouse").stock(5).price(new BigDecimal("50")).build();
+        when(productRepository.findAllById(any())).thenReturn(List.of(laptop, mouse));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(laptop));
+        when(productRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(mouse));
+        when(productRepository.decrementStock(anyLong(), anyInt())).thenReturn(1);
+        StockGrant laptopGrant = StockGrant.builder().id(11L).productId(1L).quantity(2).build();
+        StockGrant mouseGrant = StockGrant.builder().id(12L).productId(2L).quantity(1).build();
+        when(stockGrantRepository.save(any(StockGrant.class))).thenReturn(laptopGrant, mouseGrant);
+        when(stockGrantRepository.deleteByIds(List.of(11L, 12L))).thenReturn(2);
+        when(stockGrantRepository.findAllById(List.of(11L, 12L))).thenReturn(List.of(laptopGrant, mouseGrant));
+        when(stockGrantRepository.deleteByIds(List.of(11L))).thenReturn(1);
+        when(stockGrantRepository.deleteByIds(List.of(12L))).thenReturn(1);
+        when(orderRepository.save(any(Order.class))).thenThrow(new IllegalStateException("insert failed"));
+
+        OrderRequestDTO request = new OrderRequestDTO(List.of(
+                new OrderRequestDTO.Item(1L, 2), new OrderRequestDTO.Item(2L, 1)));
+
+        assertThrows(IllegalStateException.class, () -> orderService.createOrder(request));
+
+        verify(productRepository).decrementStock(1L, 2);
+        verify(productRepository).decrementStock(2L, 1);
+        // Claimed in the order transaction, which the mock cannot roll back; the give-back still runs.
+        verify(stockGrantRepository).deleteByIds(List.of(11L, 12L));
+        verify(productRepository).incrementStock(1L, 2);
+        verify(productRepository).incrementStock(2L, 1);
+        verify(productRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void createOrders_ShouldLoadProductsOncePerGroupAndReportRejectedOrders() {
+        Product laptop = Product.builder().id(1L).name("Laptop").stock(1).price(new BigDecimal("1000")).build();
+        Product mouse = Product.builder().id(2L).name("Mouse").stock(5).price(new BigDecimal("25")).build();
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(laptop, mouse));
+        when(productRepository.decrementStock(1L, 1)).thenReturn(1).thenReturn(0);
+        when(productRepository.decrementStock(2L, 1)).thenReturn(1);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(100L + order.getItems().get(0).getProduct().getId());
+            return order;
+        });
+
+        BatchOrderResponseDTO response = orderService.createOrders(List.of(
+                new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 1))),
+                new OrderRequestDTO(List.of(new OrderRequestDTO.Item(3L, 1))),
+                new OrderRequestDTO(List.of(new OrderRequestDTO.Item(1L, 1))),
+                new OrderRequestDTO(List.of(new OrderRequestDTO.Item(2L, 1)))));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getRejected());
+        assertEquals(List.of("CREATED", "REJECTED", "REJECTED", "CREATED"),
+                response.getResults().stream().map(BatchOrderResponseDTO.Result::getStatus).toList());
+        assertEquals(101L, response.getResults().get(0).getOrder().getOrderId());
+        assertEquals("Product not found with ID: 3", response.getResults().get(1).getError());
+        assertEquals("Not enough stock for product: Laptop", response.getResults().get(2).getError());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(orderRepository, times(1)).flush();
+    }
+
     @Test
     void updateOrderStatus_ShouldUpdateSuccessfully() {
         Order order = Order.builder()
@@ -123,6 +267,52 @@ class OrderServiceImplTest {
         verify(orderRepository).save(order);
     }
 
+    @Test
+    void updateOrderStatus_ShouldRejectTransitionsTheStateMachineForbids() {
+        Order order = Order.builder().id(1L).status(OrderStatus.CANCELLED).build();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> orderService.updateOrderStatus(1L, "COMPLETED"));
+
+        assertEquals("Cannot change order status from CANCELLED to COMPLETED", exception.getMessage());
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void updateOrderStatuses_ShouldRequireEitherIdsOrCriteria() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.updateOrderStatuses(
+                BulkStatusUpdateRequestDTO.builder().status("COMPLETED").build()));
+        assertThrows(IllegalArgumentException.class, () -> orderService.updateOrderStatuses(
+                BulkStatusUpdateRequestDTO.builder().status("COMPLETED").ids(List.of(1L)).currentStatus("PENDING").build()));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void updateOrderStatuses_ShouldWalkMatchingOrdersByKeyset_OneChunkPerTransaction() {
+        List<Long> first = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            first.add(id);
+        }
+        when(orderRepository.findIdsMatchingAfter(eq(0L), eq(OrderStatus.PENDING), isNull(), isNull(), any()))
+                .thenReturn(first);
+        when(orderRepository.findIdsMatchingAfter(eq(1_000L), eq(OrderStatus.PENDING), isNull(), isNull(), any()))
+                .thenReturn(List.of(1_500L));
+        when(orderRepository.findIdsMatchingAfter(eq(1_500L), eq(OrderStatus.PENDING), isNull(), isNull(), any()))
+                .thenReturn(List.of());
+        when(orderRepository.lockIdsInStatus(any(), any()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+
+        assertEquals(1_001, orderService.updateOrderStatuses(BulkStatusUpdateRequestDTO.builder()
+                .status("COMPLETED").currentStatus("PENDING").build()).getUpdated());
+
+        verify(orderRepository).updateStatus(first, OrderStatus.COMPLETED);
+        verify(orderRepository).updateStatus(List.of(1_500L), OrderStatus.COMPLETED);
+        verify(orderRepository, times(3)).findIdsMatchingAfter(any(), any(), any(), any(), any());
+    }
+
     @Test
     void updateOrderStatus_ShouldThrowException_WhenStatusInvalid() {
         Order order = Order.builder().id(1L).status(OrderStatus.PENDING).build();
@@ -141,7 +331,7 @@ class OrderServiceImplTest {
                 .items(List.of(OrderRequestDTO.Item.builder().productId(1L).quantity(1).build()))
                 .build();
 
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.findAllById(any())).thenReturn(List.of());
 
         ResourceNotFoundException exception = assertThrows(
                 ResourceNotFoundException.class,
@@ -151,32 +341,34 @@ class OrderServiceImplTest {
     }
 
     @Test
-    void summarizeOrderValuePerProduct_ShouldReturnCorrectAggregation() {
-            Product productA = Product.builder()
-                            .id(1L)
-                            .sku("A123")
-                            .price(new BigDecimal("100"))
-                            .build();
-
-            Product productB = Product.builder()
-                            .id(2L)
-                            .sku("B456")
-                            .price(new BigDecimal("200"))
-                            .build();
+    void updateOrderStatus_ShouldReturnStock_WhenOrderIsCancelled() {
+        Product laptop = Product.builder().id(7L).name("Laptop").build();
+        Order order = Order.builder().id(1L).status(OrderStatus.PENDING).build();
+        order.setItems(List.of(
+                OrderItem.builder().order(order).product(laptop).quantity(2).build(),
+                OrderItem.builder().order(order).product(laptop).quantity(1).build()));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
 
-            OrderItem item1 = OrderItem.builder().product(productA).quantity(2).build(); 
-            OrderItem item2 = OrderItem.builder().product(productB).quantity(1).build(); 
-            OrderItem item3 = OrderItem.builder().product(productA).quantity(1).build();
+        orderService.updateOrderStatus(1L, "cancelled");
 
-            Order order1 = Order.builder().items(List.of(item1, item2)).build();
-            Order order2 = Order.builder().items(List.of(item3)).build();
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        // Returning stock also takes the units' value off the product.
+        verify(productRepository).incrementStock(7L, 3);
+        verify(eventPublisher).publishEvent(new StockChangedEvent(null, Map.of(7L, 3)));
+    }
 
-            when(orderRepository.findAll()).thenReturn(List.of(order1, order2));
+    @Test
+    void summarizeOrderValuePerProduct_ShouldReturnCorrectAggregation() {
+            when(productRepository.findOrderedValuePerSku()).thenReturn(List.of(
+                            new Object[]{"A123", new BigDecimal("300")},
+                            new Object[]{"B456", new BigDecimal("200")},
+                            new Object[]{"C789", BigDecimal.ZERO}));
 
             Map<String, BigDecimal> result = orderService.summarizeOrderValuePerProduct();
 
             assertEquals(2, result.size());
             assertEquals(new BigDecimal("300"), result.get("A123")); 
             assertEquals(new BigDecimal("200"), result.get("B456"));
+            verify(orderRepository, never()).findAll();
     }
 }
\ No newline at end of file
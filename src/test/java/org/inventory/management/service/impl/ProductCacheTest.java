@@ -0,0 +1,123 @@
+package org.inventory.management.service.impl;
+
+import org.inventory.management.entity.Product;
+import org.inventory.management.event.ProductsChangedEvent;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductCacheTest {
+
+    private ProductRepository productRepository;
+    private ProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        cache = new ProductCache(productRepository, 100);
+    }
+
+    @Test
+    void get_ShouldServeRepeatedReadsFromMemory() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "LAP123", 5)));
+
+        assertEquals(5, cache.get(1L).orElseThrow().getStock());
+        assertEquals(5, cache.get(1L).orElseThrow().getStock());
+
+        verify(productRepository, times(1)).findById(1L);
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void get_ShouldReturnCopies() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "LAP123", 5)));
+        cache.get(1L);
+
+        cache.get(1L).orElseThrow().setStock(0);
+
+        assertEquals(5, cache.get(1L).orElseThrow().getStock());
+    }
+
+    @Test
+    void onStockChanged_ShouldEvictTheChangedProducts() {
+        when(productRepository.findById(1L))
+                .thenReturn(Optional.of(product(1L, "LAP123", 5)))
+                .thenReturn(Optional.of(product(1L, "LAP123", 3)));
+        cache.get(1L);
+
+        cache.onStockChanged(new StockChangedEvent(10L, Map.of(1L, -2)));
+
+        assertEquals(3, cache.get(1L).orElseThrow().getStock());
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void onProductsChanged_ShouldEvictEverything_WhenNoIdsAreGiven() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "LAP123", 5)));
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product(2L, "MOU456", 9)));
+        cache.get(1L);
+        cache.get(2L);
+
+        cache.onProductsChanged(new ProductsChangedEvent(Set.of(2L)));
+        cache.get(1L);
+        cache.get(2L);
+        cache.onProductsChanged(ProductsChangedEvent.all());
+        cache.get(1L);
+
+        verify(productRepository, times(2)).findById(1L);
+        verify(productRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void get_ShouldNotCacheALoadThatRacedWithAnInvalidation() {
+        when(productRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    // The row is read, then a committing order invalidates before the load is cached.
+                    Product stale = product(1L, "LAP123", 5);
+                    cache.invalidate(List.of(1L));
+                    return Optional.of(stale);
+                })
+                .thenReturn(Optional.of(product(1L, "LAP123", 4)));
+
+        assertEquals(5, cache.get(1L).orElseThrow().getStock());
+        assertEquals(4, cache.get(1L).orElseThrow().getStock());
+        assertEquals(4, cache.get(1L).orElseThrow().getStock());
+
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void getBySku_ShouldResolveThroughTheIdIndex() {
+        when(productRepository.findBySku("LAP123")).thenReturn(Optional.of(product(1L, "LAP123", 5)));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "LAP123", 5)));
+
+        cache.getBySku("LAP123");
+        cache.getBySku("LAP123");
+        cache.getBySku("LAP123");
+
+        verify(productRepository, times(1)).findBySku("LAP123");
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    private static Product product(Long id, String sku, int stock) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .sku(sku)
+                .price(new BigDecimal("10"))
+                .stock(stock)
+                .version(0)
+                .build();
+    }
+}
@@ -1,14 +1,20 @@
 package org.inventory.management.service.impl;
 
+import org.inventory.management.dto.ProductResponseDTO;
 import org.inventory.management.entity.Product;
+import org.inventory.management.event.StockChangedEvent;
 import org.inventory.management.repository.ProductRepository;
 import org.inventory.management.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,12 +24,17 @@ import static org.mockito.Mockito.*;
 class ProductServiceImplTest {
 
     private ProductRepository productRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private ObjectProvider<LowStockWatcher> lowStockWatcher;
     private ProductService productService;
 
     @BeforeEach
     void setUp() {
         productRepository = mock(ProductRepository.class);
-        productService = new ProductServiceImpl(productRepository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        lowStockWatcher = mock(ObjectProvider.class);
+        productService = new ProductServiceImpl(productRepository, eventPublisher, lowStockWatcher,
+                new ProductCache(productRepository, 100));
     }
 
     @Test
@@ -34,15 +45,23 @@ class ProductServiceImplTest {
                 .price(new BigDecimal("1000"))
                 .stock(10)
                 .build();
+        Product persisted = Product.builder()
+                .id(1L)
+                .sku("SKU001")
+                .name("Laptop")
+                .price(new BigDecimal("1000"))
+                .stock(10)
+                .build();
 
         when(productRepository.findBySku("SKU001")).thenReturn(Optional.empty());
-        when(productRepository.save(product)).thenReturn(product);
+        when(productRepository.save(product)).thenReturn(persisted);
 
         Product saved = productService.createProduct(product);
 
         assertNotNull(saved);
         assertEquals("Laptop", saved.getName());
         verify(productRepository).save(product);
+        verify(eventPublisher).publishEvent(StockChangedEvent.created(Map.of(1L, 10)));
     }
 
     @Test
@@ -53,7 +72,7 @@ class ProductServiceImplTest {
                 .build();
 
         when(productRepository.findBySku("SKU001"))
-                .thenReturn(Optional.of(product));
+                .thenReturn(Optional.of(Product.builder().id(7L).sku("SKU001").name("Laptop").build()));
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -66,19 +85,33 @@ class ProductServiceImplTest {
 
     @Test
     void getAllProducts_ShouldReturnProductList() {
-        List<Product> products = Arrays.asList(
-                Product.builder().id(1L).name("Tablet").build(),
-                Product.builder().id(2L).name("Mouse").build()
+        List<ProductResponseDTO> products = Arrays.asList(
+                ProductResponseDTO.builder().id(1L).name("Tablet").build(),
+                ProductResponseDTO.builder().id(2L).name("Mouse").build()
         );
 
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllViews()).thenReturn(products);
 
-        List<Product> result = productService.getAllProducts();
+        List<ProductResponseDTO> result = productService.getAllProducts();
 
         assertEquals(2, result.size());
         assertEquals("Tablet", result.get(0).getName());
     }
 
+    @Test
+    void getProductsAfter_ShouldStartFromBeginning_WhenCursorIsMissing() {
+        List<ProductResponseDTO> page = List.of(ProductResponseDTO.builder().id(1L).name("Tablet").build());
+        when(productRepository.findViewsAfter(0L, Limit.of(50))).thenReturn(page);
+
+        assertEquals(page, productService.getProductsAfter(null, 50));
+    }
+
+    @Test
+    void getProductsAfter_ShouldRejectOversizedPages() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsAfter(10L, 5_000));
+        verify(productRepository, never()).findViewsAfter(any(), any());
+    }
+
     @Test
     void getProductById_WhenProductExists_ShouldReturnProduct() {
         Product product = Product.builder().id(1L).name("Tablet").build();
@@ -101,27 +134,26 @@ class ProductServiceImplTest {
 
     @Test
     void getLowStockProducts_ShouldReturnFilteredProducts() {
-        List<Product> allProducts = List.of(
+        List<Product> lowStock = List.of(
                 Product.builder().name("Monitor").stock(2).build(),
-                Product.builder().name("Printer").stock(1).build(),
-                Product.builder().name("TV").stock(10).build());
+                Product.builder().name("Printer").stock(1).build());
 
-        when(productRepository.findAll()).thenReturn(allProducts);
+        when(productRepository.findByStockLessThan(5)).thenReturn(lowStock);
 
         List<Product> result = productService.getLowStockProducts(5);
 
         assertEquals(2, result.size());
         assertTrue(result.stream().anyMatch(p -> p.getName().equals("Monitor")));
         assertTrue(result.stream().anyMatch(p -> p.getName().equals("Printer")));
+        verify(productRepository, never()).findAll();
     }
 
     @Test
     void getLowStockProducts_ShouldReturnFilteredList() {
         Product p1 = Product.builder().sku("P1").stock(2).build();
         Product p2 = Product.builder().sku("P2").stock(4).build();
-        Product p3 = Product.builder().sku("P3").stock(10).build();
     
-        when(productRepository.findAll()).thenReturn(List.of(p1, p2, p3));
+        when(productRepository.findByStockLessThan(5)).thenReturn(List.of(p1, p2));
     
         List<Product> result = productService.getLowStockProducts(5);
     
@@ -129,4 +161,18 @@ class ProductServiceImplTest {
         assertTrue(result.contains(p1));
         assertTrue(result.contains(p2));
     }
+
+    @Test
+    void getLowStockProducts_ShouldUseWatcher_WhenThresholdIsWatched() {
+        LowStockWatcher watcher = mock(LowStockWatcher.class);
+        Product p1 = Product.builder().sku("P1").stock(2).build();
+        when(lowStockWatcher.getIfAvailable()).thenReturn(watcher);
+        when(watcher.supports(5)).thenReturn(true);
+        when(watcher.getLowStockProducts(5)).thenReturn(List.of(p1));
+
+        List<Product> result = productService.getLowStockProducts(5);
+
+        assertEquals(List.of(p1), result);
+        verify(productRepository, never()).findByStockLessThan(any());
+    }
 }
\ No newline at end of file
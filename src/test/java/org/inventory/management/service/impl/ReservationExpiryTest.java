@@ -0,0 +1,68 @@
+package org.inventory.management.service.impl;
+
+import org.inventory.management.entity.enums.OrderStatus;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.repository.OrderRepository;
+import org.inventory.management.service.OrderService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ReservationExpiryTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+
+    @Test
+    void expireDue_ShouldExpireReservedOrdersOnceTheirTtlHasPassed() throws InterruptedException {
+        ReservationExpiry expiry = new ReservationExpiry(orderService, orderRepository, 20, 5, 64);
+        expiry.onStockChanged(new StockChangedEvent(1L, Map.of(7L, -2)));
+        // Stock coming back is not a reservation.
+        expiry.onStockChanged(new StockChangedEvent(2L, Map.of(7L, 2)));
+        expiry.onStockChanged(new StockChangedEvent(null, Map.of(7L, -1)));
+
+        expiry.expireDue();
+        verifyNoInteractions(orderService);
+
+        Thread.sleep(40);
+        expiry.expireDue();
+        verify(orderService).expireReservations(List.of(1L));
+    }
+
+    @Test
+    void expireDue_ShouldRetryOnTheNextTick_WhenExpiryFails() throws InterruptedException {
+        when(orderService.expireReservations(anyCollection()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(1);
+        ReservationExpiry expiry = new ReservationExpiry(orderService, orderRepository, 0, 5, 64);
+        expiry.onStockChanged(new StockChangedEvent(1L, Map.of(7L, -2)));
+
+        Thread.sleep(10);
+        expiry.expireDue();
+        Thread.sleep(10);
+        expiry.expireDue();
+
+        verify(orderService, times(2)).expireReservations(List.of(1L));
+    }
+
+    @Test
+    void loadPendingReservations_ShouldTrackDeadlinesStoredOnOrders() throws InterruptedException {
+        when(orderRepository.findReservationDeadlines(OrderStatus.PENDING)).thenReturn(List.of(
+                new Object[]{3L, LocalDateTime.now().minusMinutes(1)},
+                new Object[]{4L, LocalDateTime.now().plusHours(1)}));
+        ReservationExpiry expiry = new ReservationExpiry(orderService, orderRepository, 60_000, 5, 64);
+
+        expiry.loadPendingReservations();
+        Thread.sleep(10);
+        expiry.expireDue();
+
+        verify(orderService).expireReservations(List.of(3L));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 1), expiry.deadlineFrom(LocalDateTime.of(2024, 1, 1, 0, 0)));
+    }
+}
@@ -0,0 +1,80 @@
+package org.inventory.management.service.impl;
+
+import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.dto.SalesVelocityDTO;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class SalesVelocityTrackerTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final SalesVelocityTracker tracker = new SalesVelocityTracker(productRepository);
+
+    @Test
+    void onStockChanged_ShouldCountOnlyUnitsReservedByOrders() {
+        when(productRepository.findViewsByIdIn(List.of(1L))).thenReturn(List.of(product(1L, 30)));
+        tracker.onStockChanged(new StockChangedEvent(10L, Map.of(1L, -3)));
+        tracker.onStockChanged(new StockChangedEvent(11L, Map.of(1L, -2)));
+        // Cancellations and restocks are not sales.
+        tracker.onStockChanged(new StockChangedEvent(null, Map.of(1L, 4)));
+        tracker.onStockChanged(new StockChangedEvent(null, Map.of(1L, -1)));
+
+        SalesVelocityDTO velocity = tracker.velocity(1L, SalesVelocityTracker.Window.MINUTE).orElseThrow();
+
+        assertEquals(5, velocity.getUnitsLastMinute());
+        assertEquals(5, velocity.getUnitsLastHour());
+        assertEquals(5, velocity.getUnitsLastDay());
+        assertEquals("1m", velocity.getWindow());
+        assertTrue(velocity.getUnitsPerHour() > 0);
+        assertEquals(30 / velocity.getUnitsPerHour(), velocity.getHoursToStockout(), 1e-9);
+    }
+
+    @Test
+    void velocity_ShouldReportNoStockout_WhenNothingSold() {
+        when(productRepository.findViewsByIdIn(List.of(2L))).thenReturn(List.of(product(2L, 8)));
+
+        SalesVelocityDTO velocity = tracker.velocity(2L, SalesVelocityTracker.Window.DAY).orElseThrow();
+
+        assertEquals(0, velocity.getUnitsLastDay());
+        assertEquals(0.0, velocity.getUnitsPerHour());
+        assertNull(velocity.getHoursToStockout());
+    }
+
+    @Test
+    void fastestSelling_ShouldReturnTheTopProductsByUnitsInTheWindow() {
+        long now = System.currentTimeMillis();
+        tracker.record(1L, 2, now);
+        tracker.record(2L, 9, now);
+        tracker.record(3L, 5, now);
+        when(productRepository.findViewsByIdIn(anyCollection()))
+                .thenReturn(List.of(product(2L, 90), product(3L, 10)));
+
+        List<SalesVelocityDTO> fastest = tracker.fastestSelling(SalesVelocityTracker.Window.HOUR, 2);
+
+        assertEquals(List.of(2L, 3L), fastest.stream().map(SalesVelocityDTO::getProductId).toList());
+        assertEquals(9, fastest.get(0).getUnitsLastHour());
+        assertTrue(fastest.get(1).getHoursToStockout() < fastest.get(0).getHoursToStockout());
+    }
+
+    @Test
+    void evictIdle_ShouldKeepProductsThatSoldToday() {
+        tracker.record(1L, 1, System.currentTimeMillis());
+        tracker.evictIdle();
+        when(productRepository.findViewsByIdIn(anyCollection())).thenReturn(List.of(product(1L, 5)));
+
+        assertEquals(1, tracker.fastestSelling(SalesVelocityTracker.Window.DAY, 10).size());
+    }
+
+    private static ProductResponseDTO product(Long id, int stock) {
+        return new ProductResponseDTO(id, "Product " + id, "SKU" + id, new BigDecimal("10.00"), stock);
+    }
+}
@@ -0,0 +1,71 @@
+package org.inventory.management.service.impl;
+
+import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.event.StockChangedEvent;
+import org.inventory.management.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockJournalRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private StockJournalRecorder recorder;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        recorder.close();
+    }
+
+    @Test
+    void rebuildStock_ShouldFoldMovementsOntoTheStartupBaseline() throws IOException {
+        when(productRepository.findAllViews()).thenReturn(List.of(product(1L, 50), product(2L, 7)));
+        recorder = new StockJournalRecorder(productRepository, directory, 16);
+        recorder.recordBaseline();
+
+        recorder.onStockChanged(new StockChangedEvent(10L, Map.of(1L, -4, 2L, -2)));
+        recorder.onStockChanged(new StockChangedEvent(null, Map.of(1L, 1)));
+        // A product created after startup is journaled with a baseline of its initial stock.
+        recorder.onStockChanged(StockChangedEvent.created(Map.of(3L, 12)));
+        recorder.onStockChanged(new StockChangedEvent(11L, Map.of(3L, -2)));
+
+        assertEquals(Map.of(1L, 47L, 2L, 5L, 3L, 10L), recorder.rebuildStock());
+    }
+
+    @Test
+    void rebuildStock_ShouldIgnoreAnEarlierRun_WhenIdsAreReused() throws IOException {
+        when(productRepository.findAllViews()).thenReturn(List.of(product(1L, 50)));
+        recorder = new StockJournalRecorder(productRepository, directory, 16);
+        recorder.recordBaseline();
+        recorder.onStockChanged(new StockChangedEvent(10L, Map.of(1L, -4)));
+        recorder.onStockChanged(StockChangedEvent.created(Map.of(2L, 9)));
+        recorder.close();
+
+        // An in-memory database starts empty again and hands out the same ids.
+        when(productRepository.findAllViews()).thenReturn(List.of());
+        recorder = new StockJournalRecorder(productRepository, directory, 16);
+        assertThrows(IllegalStateException.class, recorder::rebuildStock);
+        recorder.recordBaseline();
+        recorder.onStockChanged(StockChangedEvent.created(Map.of(1L, 30)));
+        recorder.onStockChanged(new StockChangedEvent(12L, Map.of(1L, -1)));
+
+        assertEquals(Map.of(1L, 29L), recorder.rebuildStock());
+        assertEquals(5, recorder.nextOffset());
+    }
+
+    private static ProductResponseDTO product(Long id, int stock) {
+        return new ProductResponseDTO(id, "Product " + id, "SKU" + id, new BigDecimal("10.00"), stock);
+    }
+}
@@ -0,0 +1,54 @@
+package org.inventory.management.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource target;
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionLimitingDataSource(target, 1, 20);
+    }
+
+    @Test
+    void getConnection_ShouldTimeOut_WhenAllPermitsAreHeld() throws SQLException {
+        Connection held = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        held.close();
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void close_ShouldReturnThePermitOnlyOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    void getConnection_ShouldReturnThePermit_WhenTheTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("database down"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(1, dataSource.availablePermits());
+    }
+}
@@ -0,0 +1,69 @@
+package org.inventory.management.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advance_ShouldFireEntriesAtOrAfterTheirDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(8, 100, START);
+        wheel.schedule("a", START + 250);
+        wheel.schedule("b", START + 100);
+
+        assertEquals(List.of(), wheel.advance(START + 99));
+        assertEquals(List.of("b"), wheel.advance(START + 100));
+        assertEquals(List.of(), wheel.advance(START + 299));
+        assertEquals(List.of("a"), wheel.advance(START + 300));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldKeepEntriesThatAreSeveralRevolutionsAway() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(4, 10, START);
+        // Same bucket as START + 10, but three revolutions later.
+        wheel.schedule("far", START + 130);
+        wheel.schedule("near", START + 10);
+
+        assertEquals(List.of("near"), wheel.advance(START + 120));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("far"), wheel.advance(START + 130));
+    }
+
+    @Test
+    void schedule_ShouldFirePastDeadlinesOnTheNextAdvance() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(8, 100, START);
+        wheel.advance(START + 500);
+        wheel.schedule("late", START);
+
+        assertEquals(List.of("late"), wheel.advance(START + 600));
+    }
+
+    @Test
+    void advance_ShouldNeverFireEarlyOrLaterThanOneTick() {
+        HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(64, 10, START);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = START + random.nextLong(5_000);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START; now <= START + 5_010; now += 7) {
+            for (Long deadline : wheel.advance(now)) {
+                assertTrue(deadline <= now, "fired early");
+                assertTrue(now - deadline < 10 + 7, "fired late");
+                fired.add(deadline);
+            }
+        }
+        assertEquals(10_000, fired.size());
+        assertEquals(0, wheel.size());
+    }
+}
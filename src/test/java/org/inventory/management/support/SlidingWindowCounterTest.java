@@ -0,0 +1,66 @@
+package org.inventory.management.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void sum_ShouldDropBucketsThatFallOutOfTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(4, 1_000);
+        counter.add(START, 2);
+        counter.add(START + 1_500, 3);
+        counter.add(START + 3_999, 1);
+
+        assertEquals(6, counter.sum(START + 3_999));
+        // The first bucket is now four buckets old.
+        assertEquals(4, counter.sum(START + 4_000));
+        assertEquals(0, counter.sum(START + 10_000));
+    }
+
+    @Test
+    void add_ShouldReuseASlotFromAnEarlierRevolution() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(4, 1_000);
+        counter.add(START, 5);
+        counter.add(START + 4_000, 1);
+
+        assertEquals(1, counter.sum(START + 4_000));
+    }
+
+    @Test
+    void add_ShouldNotLoseCountsUnderContention() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(12, 60_000);
+        long now = System.currentTimeMillis();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    counter.add(now, 1);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, counter.sum(now));
+    }
+
+    @Test
+    void spanMillis_ShouldCoverThePartialBucketAndTheFullOnesBeforeIt() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(12, 5_000);
+        assertEquals(11 * 5_000 + 2_001, counter.spanMillis(START + 2_000));
+    }
+}
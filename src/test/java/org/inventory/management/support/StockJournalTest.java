@@ -0,0 +1,91 @@
+package org.inventory.management.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_ShouldReturnMovementsSinceAnOffsetAcrossSegments() throws IOException {
+        try (StockJournal journal = new StockJournal(directory, 4)) {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, journal.append(100 + i % 3, -(i + 1), i, 1_000 + i));
+            }
+
+            List<StockJournal.Movement> movements = journal.read(3, 5);
+            assertEquals(5, movements.size());
+            assertEquals(new StockJournal.Movement(3, 100, -4, 3, 1_003), movements.get(0));
+            assertEquals(new StockJournal.Movement(7, 101, -8, 7, 1_007), movements.get(4));
+            assertEquals(List.of(), journal.read(10, 5));
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    void reopen_ShouldContinueAfterTheLastRecordAndRebuildStock() throws IOException {
+        try (StockJournal journal = new StockJournal(directory, 4)) {
+            journal.appendBaseline(1, 10, 1);
+            journal.append(2, 5, 0, 1);
+            journal.append(1, -3, 7, 2);
+            journal.append(1, -2, 8, 3);
+            journal.append(2, 1, 0, 4);
+            assertEquals(5, journal.sync());
+        }
+
+        try (StockJournal journal = new StockJournal(directory, 4)) {
+            assertEquals(5, journal.nextOffset());
+            assertEquals(5, journal.append(2, -4, 9, 5));
+            assertEquals(Map.of(1L, 5L, 2L, 2L), journal.stockLevels(0));
+        }
+    }
+
+    @Test
+    void stockLevels_ShouldStartFromTheLatestBaseline() throws IOException {
+        try (StockJournal journal = new StockJournal(directory, 4)) {
+            journal.appendBaseline(1, 40, 1);
+            journal.append(1, -5, 3, 2);
+            // Changes made while journaling was off are covered by the next baseline.
+            journal.appendBaseline(1, 20, 3);
+            journal.append(1, -1, 4, 4);
+
+            assertTrue(journal.read(2, 1).get(0).baseline());
+            assertFalse(journal.read(3, 1).get(0).baseline());
+            assertEquals(Map.of(1L, 19L), journal.stockLevels(0));
+            assertEquals(Map.of(1L, -1L), journal.stockLevels(3));
+        }
+    }
+
+    @Test
+    void reopen_ShouldDropATornRecordAtTheTail() throws IOException {
+        try (StockJournal journal = new StockJournal(directory, 8)) {
+            journal.append(1, 10, 0, 1);
+            journal.append(1, -1, 2, 2);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(String.format("%020d.journal", 0)).toFile(), "rw")) {
+            // Corrupt the delta of the second record as a half-finished write would.
+            file.seek(StockJournal.RECORD_SIZE + 24);
+            file.writeInt(-99);
+        }
+
+        try (StockJournal journal = new StockJournal(directory, 8)) {
+            assertEquals(1, journal.nextOffset());
+            assertEquals(Map.of(1L, 10L), journal.stockLevels(0));
+        }
+    }
+}
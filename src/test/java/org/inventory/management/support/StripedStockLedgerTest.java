@@ -0,0 +1,91 @@
+package org.inventory.management.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockLedgerTest {
+
+    private StripedStockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new StripedStockLedger(8);
+        ledger.load(1L, 5);
+        ledger.load(2L, 1);
+    }
+
+    @Test
+    void tryReserve_ShouldTakeAllQuantities_WhenEveryProductIsCovered() {
+        Optional<Long> shortfall = ledger.tryReserve(Map.of(1L, 3, 2L, 1));
+
+        assertTrue(shortfall.isEmpty());
+        assertEquals(2, ledger.available(1L).getAsInt());
+        assertEquals(0, ledger.available(2L).getAsInt());
+    }
+
+    @Test
+    void tryReserve_ShouldTakeNothing_WhenAnyProductIsShort() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(1L, 3);
+        quantities.put(2L, 2);
+
+        Optional<Long> shortfall = ledger.tryReserve(quantities);
+
+        assertEquals(Optional.of(2L), shortfall);
+        assertEquals(5, ledger.available(1L).getAsInt());
+        assertEquals(1, ledger.available(2L).getAsInt());
+    }
+
+    @Test
+    void load_ShouldNotOverwriteTrackedCounter() {
+        ledger.tryReserve(Map.of(1L, 2));
+        ledger.load(1L, 5);
+
+        assertEquals(3, ledger.available(1L).getAsInt());
+    }
+
+    @Test
+    void release_ShouldSkipUntrackedProducts() {
+        ledger.release(Map.of(1L, 2, 3L, 4));
+
+        assertEquals(7, ledger.available(1L).getAsInt());
+        assertFalse(ledger.isLoaded(3L));
+    }
+
+    @Test
+    void tryReserve_ShouldNeverOversell_UnderConcurrency() throws Exception {
+        ledger.load(10L, 1_000);
+        ledger.load(11L, 1_000);
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 3_000; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (ledger.tryReserve(Map.of(10L, 1, 11L, 1)).isEmpty()) {
+                    succeeded.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1_000, succeeded.get());
+        assertEquals(0, ledger.available(10L).getAsInt());
+        assertEquals(0, ledger.available(11L).getAsInt());
+    }
+}
@@ -0,0 +1,42 @@
+package org.inventory.management.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTest {
+
+    @Test
+    void sample_ShouldFollowTheZipfProbabilities() {
+        int n = 1_000;
+        int samples = 1_000_000;
+        ZipfSampler sampler = new ZipfSampler(n, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+
+        int[] counts = new int[n + 1];
+        for (int i = 0; i < samples; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 1 && rank <= n, "rank out of range: " + rank);
+            counts[rank]++;
+        }
+
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += 1.0 / k;
+        }
+        assertEquals(1 / harmonic, counts[1] / (double) samples, 0.005);
+        assertEquals(2.0, counts[1] / (double) counts[2], 0.1);
+        assertEquals(10.0, counts[1] / (double) counts[10], 0.5);
+    }
+
+    @Test
+    void sample_ShouldAlwaysReturnTheOnlyRank_WhenThereIsOneElement() {
+        ZipfSampler sampler = new ZipfSampler(1, 1.2);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(1, sampler.sample(random));
+        }
+    }
+}
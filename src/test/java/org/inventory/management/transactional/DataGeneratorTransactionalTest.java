@@ -0,0 +1,66 @@
+package org.inventory.management.transactional;
+
+import org.inventory.management.config.DataGenerator;
+import org.inventory.management.entity.Product;
+import org.inventory.management.entity.enums.OrderStatus;
+import org.inventory.management.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(DataGenerator.class)
+@ActiveProfiles("generate")
+@TestPropertySource(properties = {
+        "inventory.generate.products=500",
+        "inventory.generate.orders=5000",
+        "inventory.generate.batch-size=700"})
+class DataGeneratorTransactionalTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void generate_ShouldWriteSkewedOrdersAndLeaveTheSequencesUsable() {
+        assertEquals(500, count("select count(*) from product"));
+        assertEquals(5000, count("select count(*) from orders"));
+        long items = count("select count(*) from order_item");
+        assertTrue(items >= 5000 && items <= 5000 * 5, "unexpected item count " + items);
+
+        // Under Zipf(1) over 500 products the most popular one is on roughly one line in seven.
+        List<Long> lines = jdbcTemplate.queryForList(
+                "select count(*) from order_item group by product_id order by count(*) desc", Long.class);
+        assertTrue(lines.get(0) > items / 10, "most popular product has only " + lines.get(0) + " lines");
+        assertTrue(lines.get(lines.size() / 2) < items / 100);
+
+        BigDecimal expected = jdbcTemplate.queryForObject("select sum(p.price * i.quantity) from order_item i " +
+                "join product p on p.id = i.product_id join orders o on o.id = i.order_id where o.status <> ?",
+                BigDecimal.class, OrderStatus.CANCELLED.name());
+        BigDecimal ordered = jdbcTemplate.queryForObject("select sum(ordered_value) from product", BigDecimal.class);
+        assertEquals(0, expected.compareTo(ordered));
+
+        Product product = productRepository.saveAndFlush(Product.builder()
+                .name("After generation")
+                .sku("AFTER-1")
+                .price(new BigDecimal("1.00"))
+                .stock(1)
+                .build());
+        assertTrue(product.getId() > 500);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
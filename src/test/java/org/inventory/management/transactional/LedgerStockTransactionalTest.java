@@ -0,0 +1,114 @@
+package org.inventory.management.transactional;
+
+import org.inventory.management.entity.Product;
+import org.inventory.management.entity.StockLedgerEntry;
+import org.inventory.management.exception.InsufficientStockException;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.repository.StockLedgerEntryRepository;
+import org.inventory.management.service.impl.LedgerStockAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside the test-managed transaction so reservations really commit or roll back.
+ */
+@DataJpaTest
+@Import(LedgerStockAllocator.class)
+@TestPropertySource(properties = "inventory.stock.ledger.enabled=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LedgerStockTransactionalTest {
+
+    @Autowired
+    private LedgerStockAllocator allocator;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockLedgerEntryRepository entryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        entryRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void reserve_ShouldRestoreTheCounterAndLeaveNoEntries_WhenTheTransactionRollsBack() {
+        Product product = product("L-ROLLBACK", 5);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            allocator.reserve(Map.of(product.getId(), 5), Map.of(product.getId(), product));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, entryRepository.count());
+        // All five units are reservable again.
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                allocator.reserve(Map.of(product.getId(), 5), Map.of(product.getId(), product)));
+        assertEquals(1, entryRepository.count());
+    }
+
+    @Test
+    void flush_ShouldFoldEntriesIntoStockAndOrderedValue_AndDeleteThem() {
+        Product product = product("L-FLUSH", 10);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                allocator.reserve(Map.of(product.getId(), 3), Map.of(product.getId(), product)));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                allocator.release(Map.of(product.getId(), 1)));
+        assertEquals(2, entryRepository.count());
+        assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStock());
+
+        allocator.flush();
+
+        Product flushed = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(8, flushed.getStock());
+        assertEquals(0, new BigDecimal("40.00").compareTo(flushed.getOrderedValue()));
+        assertEquals(0, entryRepository.count());
+        assertThrows(InsufficientStockException.class, () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status ->
+                        allocator.reserve(Map.of(product.getId(), 9), Map.of(product.getId(), product))));
+    }
+
+    @Test
+    void replayPendingEntries_ShouldApplyEntriesLeftByAnEarlierRun() {
+        Product product = product("L-REPLAY", 10);
+        // What a crash after the order commits but before the next flush leaves behind.
+        entryRepository.saveAll(List.of(
+                StockLedgerEntry.builder().productId(product.getId()).delta(-4).build(),
+                StockLedgerEntry.builder().productId(product.getId()).delta(-1).build()));
+
+        allocator.replayPendingEntries();
+
+        Product replayed = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(5, replayed.getStock());
+        assertEquals(0, new BigDecimal("100.00").compareTo(replayed.getOrderedValue()));
+        assertEquals(0, entryRepository.count());
+    }
+
+    private Product product(String sku, int stock) {
+        return productRepository.save(Product.builder()
+                .name("Laptop " + sku)
+                .sku(sku)
+                .price(new BigDecimal("20.00"))
+                .stock(stock)
+                .build());
+    }
+}
@@ -1,27 +1,42 @@
 package org.inventory.management.transactional;
 
 import org.inventory.management.entity.Order;
+import org.inventory.management.entity.OrderItem;
 import org.inventory.management.entity.Product;
+import org.inventory.management.entity.enums.OrderStatus;
 import org.inventory.management.exception.InsufficientStockException;
 import org.inventory.management.repository.OrderRepository;
 import org.inventory.management.repository.ProductRepository;
 import org.inventory.management.service.OrderService;
+import org.inventory.management.dto.BatchOrderResponseDTO;
+import org.inventory.management.dto.BulkStatusUpdateRequestDTO;
+import org.inventory.management.dto.BulkStatusUpdateResponseDTO;
+import org.inventory.management.dto.OrderPageResponseDTO;
 import org.inventory.management.dto.OrderRequestDTO;
+import org.inventory.management.dto.OrderResponseDTO;
+import org.inventory.management.service.impl.DatabaseStockAllocator;
 import org.inventory.management.service.impl.OrderServiceImpl;
+import org.inventory.management.support.SqlStatementCounter;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import(OrderServiceImpl.class)
+@Import({OrderServiceImpl.class, DatabaseStockAllocator.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "org.inventory.management.support.SqlStatementCounter")
 class OrderTransactionalTest {
 
     @Autowired
@@ -69,4 +84,241 @@ class OrderTransactionalTest {
         assertEquals(10, productRepository.findById(p1.getId()).get().getStock());
         assertEquals(2, productRepository.findById(p2.getId()).get().getStock());
     }
-}
\ No newline at end of file
+
+    @Test
+    void orderValueSummary_ShouldFollowOrdersAndCancellations_AndMatchRebuild() {
+        Product laptop = productRepository.save(Product.builder()
+                .name("Laptop")
+                .sku("L2")
+                .stock(10)
+                .price(new BigDecimal("1000"))
+                .build());
+
+        Product mouse = productRepository.save(Product.builder()
+                .name("Mouse")
+                .sku("M2")
+                .stock(10)
+                .price(new BigDecimal("50"))
+                .build());
+
+        orderService.createOrder(OrderRequestDTO.builder()
+                .items(List.of(
+                        OrderRequestDTO.Item.builder().productId(laptop.getId()).quantity(1).build(),
+                        OrderRequestDTO.Item.builder().productId(mouse.getId()).quantity(2).build()))
+                .build());
+        OrderResponseDTO cancelled = orderService.createOrder(OrderRequestDTO.builder()
+                .items(List.of(OrderRequestDTO.Item.builder().productId(mouse.getId()).quantity(3).build()))
+                .build());
+        orderService.updateOrderStatus(cancelled.getOrderId(), "CANCELLED");
+
+        Map<String, BigDecimal> incremental = orderService.summarizeOrderValuePerProduct();
+        assertEquals(0, new BigDecimal("1000").compareTo(incremental.get("L2")));
+        assertEquals(0, new BigDecimal("100").compareTo(incremental.get("M2")));
+
+        orderService.rebuildOrderValueSummary();
+        entityManager.clear();
+
+        Map<String, BigDecimal> rebuilt = orderService.summarizeOrderValuePerProduct();
+        assertEquals(incremental.keySet(), rebuilt.keySet());
+        incremental.forEach((sku, value) -> assertEquals(0, value.compareTo(rebuilt.get(sku))));
+    }
+
+    @Test
+    void orderValueSummary_ShouldDropSkusWhoseOrdersAreAllCancelled() {
+        Product pad = productRepository.save(Product.builder()
+                .name("Pad")
+                .sku("P6")
+                .stock(10)
+                .price(new BigDecimal("20"))
+                .build());
+        Long orderId = orderService.createOrder(new OrderRequestDTO(List.of(
+                new OrderRequestDTO.Item(pad.getId(), 4)))).getOrderId();
+        assertEquals(0, new BigDecimal("80").compareTo(orderService.summarizeOrderValuePerProduct().get("P6")));
+
+        orderService.updateOrderStatus(orderId, "CANCELLED");
+        assertFalse(orderService.summarizeOrderValuePerProduct().containsKey("P6"));
+
+        orderService.rebuildOrderValueSummary();
+        entityManager.clear();
+        assertFalse(orderService.summarizeOrderValuePerProduct().containsKey("P6"));
+    }
+
+    @Test
+    void rebuildOrderValueSummary_ShouldCountOrdersSavedDirectly_ExceptCancelledOnes() {
+        Product cable = productRepository.save(Product.builder()
+                .name("Cable")
+                .sku("C7")
+                .stock(10)
+                .price(new BigDecimal("15"))
+                .build());
+        for (OrderStatus status : List.of(OrderStatus.PENDING, OrderStatus.COMPLETED, OrderStatus.CANCELLED)) {
+            Order order = Order.builder().orderDate(LocalDateTime.now()).status(status).build();
+            order.setItems(List.of(OrderItem.builder().order(order).product(cable).quantity(2).build()));
+            orderRepository.save(order);
+        }
+        entityManager.flush();
+        assertFalse(orderService.summarizeOrderValuePerProduct().containsKey("C7"));
+
+        orderService.rebuildOrderValueSummary();
+        entityManager.clear();
+
+        assertEquals(0, new BigDecimal("60").compareTo(orderService.summarizeOrderValuePerProduct().get("C7")));
+    }
+
+    @Test
+    void updateOrderStatuses_ShouldApplyLegalTransitionsInSetBasedStatements() {
+        Product mouse = productRepository.save(Product.builder()
+                .name("Mouse")
+                .sku("M4")
+                .stock(100)
+                .price(new BigDecimal("50"))
+                .build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(orderService.createOrder(new OrderRequestDTO(List.of(
+                    new OrderRequestDTO.Item(mouse.getId(), 1)))).getOrderId());
+        }
+        orderService.updateOrderStatus(ids.get(0), "COMPLETED");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(-1L);
+        SqlStatementCounter.reset();
+        BulkStatusUpdateResponseDTO response = orderService.updateOrderStatuses(
+                BulkStatusUpdateRequestDTO.builder().status("cancelled").ids(requested).build());
+
+        // Lock, units per product, one stock return per product, status update and the lookup of
+        // skipped rows, however many orders.
+        assertEquals(5, SqlStatementCounter.total());
+        assertEquals(4, response.getUpdated());
+        assertEquals(2, response.getSkipped());
+        assertEquals(ids.get(0), response.getSkips().get(0).getOrderId());
+        assertEquals("Cannot change order status from COMPLETED to CANCELLED", response.getSkips().get(0).getReason());
+        assertEquals("Order not found", response.getSkips().get(1).getReason());
+
+        entityManager.clear();
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(ids.get(1)).orElseThrow().getStatus());
+        assertEquals(0, new BigDecimal("50").compareTo(orderService.summarizeOrderValuePerProduct().get("M4")));
+        assertEquals(99, productRepository.findById(mouse.getId()).orElseThrow().getStock());
+
+        BulkStatusUpdateResponseDTO again = orderService.updateOrderStatuses(
+                BulkStatusUpdateRequestDTO.builder().status("COMPLETED").currentStatus("CANCELLED").build());
+        assertEquals(0, again.getUpdated());
+        assertEquals(4, again.getSkipped());
+    }
+
+    @Test
+    void expireReservations_ShouldCancelOnlyPendingOrdersAndReturnTheirStock() {
+        Product pad = productRepository.save(Product.builder()
+                .name("Pad")
+                .sku("P5")
+                .stock(10)
+                .price(new BigDecimal("20"))
+                .build());
+        Long pending = orderService.createOrder(new OrderRequestDTO(List.of(
+                new OrderRequestDTO.Item(pad.getId(), 3)))).getOrderId();
+        Long completed = orderService.createOrder(new OrderRequestDTO(List.of(
+                new OrderRequestDTO.Item(pad.getId(), 2)))).getOrderId();
+        orderService.updateOrderStatus(completed, "COMPLETED");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, orderService.expireReservations(List.of(pending, completed)));
+
+        entityManager.clear();
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(pending).orElseThrow().getStatus());
+        assertEquals(OrderStatus.COMPLETED, orderRepository.findById(completed).orElseThrow().getStatus());
+        assertEquals(8, productRepository.findById(pad.getId()).orElseThrow().getStock());
+        assertEquals(0, new BigDecimal("40").compareTo(orderService.summarizeOrderValuePerProduct().get("P5")));
+    }
+
+    @Test
+    void createOrders_ShouldKeepStockOfRejectedOrdersIntact() {
+        Product laptop = productRepository.save(Product.builder()
+                .name("Laptop")
+                .sku("L3")
+                .stock(2)
+                .price(new BigDecimal("1000"))
+                .build());
+        Product mouse = productRepository.save(Product.builder()
+                .name("Mouse")
+                .sku("M3")
+                .stock(10)
+                .price(new BigDecimal("50"))
+                .build());
+
+        BatchOrderResponseDTO response = orderService.createOrders(List.of(
+                new OrderRequestDTO(List.of(new OrderRequestDTO.Item(laptop.getId(), 1), new OrderRequestDTO.Item(mouse.getId(), 1))),
+                new OrderRequestDTO(List.of(new OrderRequestDTO.Item(mouse.getId(), 1), new OrderRequestDTO.Item(laptop.getId(), 2))),
+                new OrderRequestDTO(List.of(new OrderRequestDTO.Item(laptop.getId(), 1)))));
+
+        assertEquals(2, response.getCreated());
+        assertEquals("REJECTED", response.getResults().get(1).getStatus());
+        entityManager.clear();
+        assertEquals(0, productRepository.findById(laptop.getId()).orElseThrow().getStock());
+        assertEquals(9, productRepository.findById(mouse.getId()).orElseThrow().getStock());
+        assertEquals(2, orderRepository.count());
+    }
+
+    @Test
+    void getOrders_ShouldReadAPageWithABoundedNumberOfStatements() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Widget " + i)
+                    .sku("W" + i)
+                    .stock(100)
+                    .price(new BigDecimal("10"))
+                    .build()));
+        }
+        for (int i = 0; i < 12; i++) {
+            orderService.createOrder(new OrderRequestDTO(List.of(
+                    new OrderRequestDTO.Item(products.get(i % 4).getId(), 1),
+                    new OrderRequestDTO.Item(products.get((i + 1) % 4).getId(), 2))));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        SqlStatementCounter.reset();
+        OrderPageResponseDTO page = orderService.getOrders("pending", null, null, 1, 5);
+
+        assertEquals(5, page.getItems().size());
+        assertEquals(12, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+        page.getItems().forEach(order -> {
+            assertEquals(2, order.getItems().size());
+            assertNotNull(order.getItems().get(0).getProductName());
+        });
+        // Ids, count and one fetch-joined load, however many orders and lines are on the page.
+        assertEquals(3, SqlStatementCounter.total());
+
+        entityManager.clear();
+        SqlStatementCounter.reset();
+        OrderResponseDTO single = orderService.getOrder(page.getItems().get(0).getOrderId());
+        assertEquals(2, single.getItems().size());
+        assertEquals(1, SqlStatementCounter.total());
+    }
+
+    @Test
+    void createOrder_WithManyItems_ShouldBatchInserts() {
+        List<OrderRequestDTO.Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Cable " + i)
+                    .sku("C" + i)
+                    .stock(10)
+                    .price(new BigDecimal("5"))
+                    .build());
+            items.add(OrderRequestDTO.Item.builder().productId(product.getId()).quantity(1).build());
+        }
+        entityManager.flush();
+        SqlStatementCounter.reset();
+
+        orderService.createOrder(OrderRequestDTO.builder().items(items).build());
+        entityManager.flush();
+
+        // One batched insert for the order and one for all of its lines.
+        assertEquals(2, SqlStatementCounter.count(SqlStatementCounter.Kind.INSERT));
+    }
+}
@@ -0,0 +1,91 @@
+package org.inventory.management.transactional;
+
+import org.inventory.management.dto.ProductImportResultDTO;
+import org.inventory.management.entity.Product;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.service.ProductImportService;
+import org.inventory.management.service.impl.ProductImportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ProductImportServiceImpl.class)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = "inventory.import.batch-size=2")
+class ProductImportTransactionalTest {
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void importProducts_FromCsv_ShouldInsertValidRowsAndReportTheRest() throws Exception {
+        productRepository.save(Product.builder()
+                .name("Laptop")
+                .sku("L1")
+                .stock(10)
+                .price(new BigDecimal("1000"))
+                .build());
+
+        String csv = """
+                sku,name,price,stock
+                M1,Mouse,50,20
+                L1,Laptop again,900,1
+                K1,"Keyboard, wireless",80.50,7
+                M1,Mouse duplicate,50,3
+                X1,,10,1
+                P1,Pad,abc,1
+                """;
+
+        ProductImportResultDTO result = importService.importProducts(new StringReader(csv), ProductImportService.Format.CSV);
+
+        assertEquals(6, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(3L, 5L, 6L, 7L), result.getErrors().stream().map(ProductImportResultDTO.RowError::getLine).toList());
+        assertEquals("SKU already exists: L1", result.getErrors().get(0).getError());
+        assertEquals("SKU already exists: M1", result.getErrors().get(1).getError());
+        assertEquals("name: Product name is required", result.getErrors().get(2).getError());
+        assertEquals("Invalid price: abc", result.getErrors().get(3).getError());
+
+        Product keyboard = productRepository.findBySku("K1").orElseThrow();
+        assertEquals("Keyboard, wireless", keyboard.getName());
+        assertEquals(0, new BigDecimal("80.50").compareTo(keyboard.getPrice()));
+        assertEquals(7, keyboard.getStock());
+        assertEquals(0, keyboard.getVersion());
+        assertEquals(20, productRepository.findBySku("M1").orElseThrow().getStock());
+    }
+
+    @Test
+    void importProducts_FromNdjson_ShouldSkipMalformedLines() throws Exception {
+        String ndjson = """
+                {"name":"Mouse","sku":"M1","price":50,"stock":20}
+                {"name":"Broken",
+                {"name":"Keyboard","sku":"K1","price":80,"stock":-1}
+                {"name":"Monitor","sku":"MO1","price":300,"stock":5}
+                """;
+
+        ProductImportResultDTO result = importService.importProducts(new StringReader(ndjson), ProductImportService.Format.NDJSON);
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertTrue(result.getErrors().get(0).getError().startsWith("Malformed JSON"));
+        assertEquals("stock: Stock cannot be negative", result.getErrors().get(1).getError());
+        assertTrue(productRepository.findBySku("MO1").isPresent());
+    }
+}
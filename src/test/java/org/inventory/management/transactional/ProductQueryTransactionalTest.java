@@ -0,0 +1,55 @@
+package org.inventory.management.transactional;
+
+import org.hibernate.Session;
+import org.inventory.management.dto.ProductResponseDTO;
+import org.inventory.management.entity.Product;
+import org.inventory.management.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProductQueryTransactionalTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void viewQueries_ShouldBuildDtosWithoutManagingEntities() {
+        List<Product> saved = productRepository.saveAll(List.of(
+                Product.builder().name("Laptop").sku("L1").stock(10).price(new BigDecimal("1000")).build(),
+                Product.builder().name("Mouse").sku("M1").stock(20).price(new BigDecimal("50")).build(),
+                Product.builder().name("Pad").sku("P1").stock(5).price(new BigDecimal("15")).build()));
+        entityManager.flush();
+        entityManager.clear();
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+        List<ProductResponseDTO> all = productRepository.findAllViews();
+        assertEquals(List.of("L1", "M1", "P1"), all.stream().map(ProductResponseDTO::getSku).toList());
+        ProductResponseDTO mouse = all.get(1);
+        assertEquals(saved.get(1).getId(), mouse.getId());
+        assertEquals("Mouse", mouse.getName());
+        assertEquals(0, new BigDecimal("50").compareTo(mouse.getPrice()));
+        assertEquals(20, mouse.getStock());
+
+        List<ProductResponseDTO> page = productRepository.findViewsAfter(saved.get(0).getId(), Limit.of(1));
+        assertEquals(List.of("M1"), page.stream().map(ProductResponseDTO::getSku).toList());
+
+        try (Stream<ProductResponseDTO> stream = productRepository.streamAllViews()) {
+            assertEquals(3, stream.count());
+        }
+
+        assertEquals(0, session.getStatistics().getEntityCount());
+    }
+}
@@ -0,0 +1,60 @@
+package org.inventory.management.transactional;
+
+import org.inventory.management.entity.Product;
+import org.inventory.management.repository.ProductRepository;
+import org.inventory.management.service.impl.StockJournalRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({StockJournalRecorder.class, StockJournalTransactionalTest.Seeder.class})
+class StockJournalTransactionalTest {
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("inventory.stock.journal.enabled", () -> "true");
+        registry.add("inventory.stock.journal.dir", Files.createTempDirectory("stock-journal")::toString);
+        registry.add("inventory.stock.journal.records-per-segment", () -> "64");
+    }
+
+    @Autowired
+    private StockJournalRecorder recorder;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void rebuildStock_ShouldIncludeProductsSeededByARunnerBeforeTheBaseline() {
+        Map<Long, Long> expected = new HashMap<>();
+        productRepository.findAll().forEach(product -> expected.put(product.getId(), (long) product.getStock()));
+
+        assertEquals(2, expected.size());
+        assertEquals(expected, recorder.rebuildStock());
+    }
+
+    @TestConfiguration
+    static class Seeder {
+        @Bean
+        CommandLineRunner seedProducts(ProductRepository productRepository) {
+            return args -> productRepository.saveAll(List.of(
+                    Product.builder().name("Laptop").sku("SEED-1").price(new BigDecimal("1000")).stock(5).build(),
+                    Product.builder().name("Mouse").sku("SEED-2").price(new BigDecimal("25")).stock(20).build()));
+        }
+    }
+}